@@ -0,0 +1,36 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * First lookup on a fresh injector, creating every just-in-time binding of the graph
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 1000)
+@Measurement(iterations = 1000)
+@Fork(1)
+public class ColdGetInstanceBenchmark {
+
+    private EasyInjector injector;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        injector = Easy.createInjector();
+    }
+
+    @Benchmark
+    public Object deep() {
+        return injector.getInstance(Graph.Deep8.class);
+    }
+
+    @Benchmark
+    public Object wide() {
+        return injector.getInstance(Graph.Wide.class);
+    }
+}
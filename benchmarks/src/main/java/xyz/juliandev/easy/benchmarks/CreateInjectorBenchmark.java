@@ -0,0 +1,48 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CreateInjectorBenchmark {
+
+    @Param({"1", "5", "10"})
+    public int modules;
+
+    private AbstractModule[] moduleInstances;
+    private EasyInjector parent;
+
+    @Setup
+    public void setUp() {
+        moduleInstances = Graph.modules(modules);
+        parent = Easy.createInjector(moduleInstances);
+        parent.warmUp();
+    }
+
+    @Benchmark
+    public EasyInjector createInjector() {
+        return Easy.createInjector(moduleInstances);
+    }
+
+    @Benchmark
+    public Object createChildInjector() {
+        return parent.createChildInjector(new TenantModule()).getInstance(Graph.Shared.class);
+    }
+
+    public static class TenantModule extends AbstractModule {
+        @Provides
+        String tenant() {
+            return "tenant";
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DynamicModuleBenchmark {
+
+    private EasyInjector injector;
+
+    @Setup(Level.Invocation)
+    public void setUp() {
+        injector = Easy.createInjector(Graph.modules(5));
+    }
+
+    @Benchmark
+    public EasyInjector addDynamicModule() {
+        injector.addDynamicModule(new Graph.Module9());
+        return injector;
+    }
+}
@@ -0,0 +1,30 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldInjectionBenchmark {
+
+    private EasyInjector injector;
+
+    @Setup
+    public void setUp() {
+        injector = Easy.createInjector();
+    }
+
+    @Benchmark
+    public Object injectObjectFields() {
+        Graph.Fields target = new Graph.Fields();
+        injector.injectObjectFields(target);
+        return target;
+    }
+}
@@ -0,0 +1,192 @@
+package xyz.juliandev.easy.benchmarks;
+
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.module.AbstractModule;
+
+/**
+ * Object graphs and modules shared by the benchmarks
+ */
+public final class Graph {
+
+    private Graph() {}
+
+    public static class Leaf {
+    }
+
+    public static class Deep1 {
+        @Inject
+        public Deep1(Leaf leaf) {
+        }
+    }
+
+    public static class Deep2 {
+        @Inject
+        public Deep2(Deep1 dependency) {
+        }
+    }
+
+    public static class Deep3 {
+        @Inject
+        public Deep3(Deep2 dependency) {
+        }
+    }
+
+    public static class Deep4 {
+        @Inject
+        public Deep4(Deep3 dependency) {
+        }
+    }
+
+    public static class Deep5 {
+        @Inject
+        public Deep5(Deep4 dependency) {
+        }
+    }
+
+    public static class Deep6 {
+        @Inject
+        public Deep6(Deep5 dependency) {
+        }
+    }
+
+    public static class Deep7 {
+        @Inject
+        public Deep7(Deep6 dependency) {
+        }
+    }
+
+    public static class Deep8 {
+        @Inject
+        public Deep8(Deep7 dependency) {
+        }
+    }
+
+    public static class Wide {
+        @Inject
+        public Wide(Leaf a, Leaf b, Leaf c, Leaf d, Leaf e, Leaf f, Leaf g, Leaf h) {
+        }
+    }
+
+    @Singleton
+    public static class Shared {
+    }
+
+    public static class Fields {
+        @Inject
+        Leaf f0;
+        @Inject
+        Leaf f1;
+        @Inject
+        Leaf f2;
+        @Inject
+        Leaf f3;
+        @Inject
+        Leaf f4;
+        @Inject
+        Shared f5;
+        @Inject
+        Shared f6;
+        @Inject
+        Shared f7;
+        @Inject
+        Deep1 f8;
+        @Inject
+        Deep2 f9;
+    }
+
+    public static class Module0 extends AbstractModule {
+        @Provides
+        @Named("0")
+        String value(Leaf leaf) {
+            return "0";
+        }
+    }
+
+    public static class Module1 extends AbstractModule {
+        @Provides
+        @Named("1")
+        String value(Leaf leaf) {
+            return "1";
+        }
+    }
+
+    public static class Module2 extends AbstractModule {
+        @Provides
+        @Named("2")
+        String value(Leaf leaf) {
+            return "2";
+        }
+    }
+
+    public static class Module3 extends AbstractModule {
+        @Provides
+        @Named("3")
+        String value(Leaf leaf) {
+            return "3";
+        }
+    }
+
+    public static class Module4 extends AbstractModule {
+        @Provides
+        @Named("4")
+        String value(Leaf leaf) {
+            return "4";
+        }
+    }
+
+    public static class Module5 extends AbstractModule {
+        @Provides
+        @Named("5")
+        String value(Leaf leaf) {
+            return "5";
+        }
+    }
+
+    public static class Module6 extends AbstractModule {
+        @Provides
+        @Named("6")
+        String value(Leaf leaf) {
+            return "6";
+        }
+    }
+
+    public static class Module7 extends AbstractModule {
+        @Provides
+        @Named("7")
+        String value(Leaf leaf) {
+            return "7";
+        }
+    }
+
+    public static class Module8 extends AbstractModule {
+        @Provides
+        @Named("8")
+        String value(Leaf leaf) {
+            return "8";
+        }
+    }
+
+    public static class Module9 extends AbstractModule {
+        @Provides
+        @Named("9")
+        String value(Leaf leaf) {
+            return "9";
+        }
+    }
+
+    /**
+     * @return the first count modules
+     */
+    public static AbstractModule[] modules(int count) {
+        AbstractModule[] modules = {
+                new Module0(), new Module1(), new Module2(), new Module3(), new Module4(),
+                new Module5(), new Module6(), new Module7(), new Module8(), new Module9()
+        };
+        AbstractModule[] result = new AbstractModule[count];
+        System.arraycopy(modules, 0, result, 0, count);
+        return result;
+    }
+}
@@ -0,0 +1,44 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warm prototype lookups for graphs of increasing depth and width
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBenchmark {
+
+    @Param({"leaf", "deep1", "deep4", "deep8", "wide8"})
+    public String shape;
+
+    private EasyInjector injector;
+    private Class<?> type;
+
+    @Setup
+    public void setUp() {
+        injector = Easy.createInjector();
+        type = switch (shape) {
+            case "leaf" -> Graph.Leaf.class;
+            case "deep1" -> Graph.Deep1.class;
+            case "deep4" -> Graph.Deep4.class;
+            case "deep8" -> Graph.Deep8.class;
+            case "wide8" -> Graph.Wide.class;
+            default -> throw new IllegalArgumentException(shape);
+        };
+        injector.getInstance(type);
+    }
+
+    @Benchmark
+    public Object getInstance() {
+        return injector.getInstance(type);
+    }
+}
@@ -0,0 +1,40 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.Provider;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Singleton reads from several threads at once
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class SingletonBenchmark {
+
+    private EasyInjector injector;
+    private Provider<Graph.Shared> provider;
+
+    @Setup
+    public void setUp() {
+        injector = Easy.createInjector();
+        provider = injector.getProvider(Graph.Shared.class);
+    }
+
+    @Benchmark
+    public Object getInstance() {
+        return injector.getInstance(Graph.Shared.class);
+    }
+
+    @Benchmark
+    public Object provider() {
+        return provider.get();
+    }
+}
@@ -0,0 +1,93 @@
+package xyz.juliandev.easy.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import xyz.juliandev.easy.Easy;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold boot with and without a graph snapshot: every invocation loads EasyInject and the modules in a fresh
+ * class loader, so neither path profits from the reflection caches of earlier invocations
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 200)
+@Measurement(iterations = 200)
+@Fork(1)
+public class SnapshotBenchmark {
+
+    @Param({"1", "10"})
+    public int modules;
+
+    private Path snapshot;
+    private URLClassLoader loader;
+    private ClassLoader context;
+
+    @Setup(Level.Trial)
+    public void writeSnapshot() throws IOException {
+        snapshot = Files.createTempFile("easyinject", ".graph");
+        Files.delete(snapshot);
+        Boot.snapshot(snapshot.toString(), modules);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSnapshot() throws IOException {
+        Files.deleteIfExists(snapshot);
+    }
+
+    @Setup(Level.Invocation)
+    public void setUp() throws MalformedURLException {
+        String[] entries = System.getProperty("java.class.path").split(File.pathSeparator);
+        URL[] urls = new URL[entries.length];
+        for (int i = 0; i < entries.length; ++i) {
+            urls[i] = new File(entries[i]).toURI().toURL();
+        }
+        loader = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader());
+        context = Thread.currentThread().getContextClassLoader();
+        // The snapshot resolves its classes with the context class loader
+        Thread.currentThread().setContextClassLoader(loader);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDown() throws IOException {
+        Thread.currentThread().setContextClassLoader(context);
+        loader.close();
+    }
+
+    @Benchmark
+    public Object createInjector() throws ReflectiveOperationException {
+        Method plain = loader.loadClass(Boot.class.getName()).getMethod("plain", int.class);
+        return plain.invoke(null, modules);
+    }
+
+    @Benchmark
+    public Object createInjectorFromSnapshot() throws ReflectiveOperationException {
+        Method snapshot = loader.loadClass(Boot.class.getName()).getMethod("snapshot", String.class, int.class);
+        return snapshot.invoke(null, this.snapshot.toString(), modules);
+    }
+
+    /**
+     * Entry points called in the fresh class loader
+     */
+    public static final class Boot {
+
+        private Boot() {}
+
+        public static Object plain(int modules) {
+            return Easy.createInjector(Graph.modules(modules));
+        }
+
+        public static Object snapshot(String path, int modules) {
+            return Easy.createInjector(Path.of(path), Graph.modules(modules));
+        }
+    }
+}
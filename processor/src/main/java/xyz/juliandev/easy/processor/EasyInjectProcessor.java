@@ -0,0 +1,494 @@
+package xyz.juliandev.easy.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * Generates {@code <Type>_EasyFactory} and {@code <Type>_EasyMembersInjector} classes for types with
+ * {@code @Inject} constructors or fields. The injector uses them instead of reflection when present.
+ * Types that generated code can't reach (private constructors or fields, local classes, ...) are skipped
+ * and keep using reflection at runtime.
+ * <p>
+ * With {@code -Aeasyinject.index=true} it also writes {@value #INDEX}, listing the module classes that have a
+ * no-arg constructor and the {@code @Inject} constructors of the compiled sources, one entry per line:
+ * <pre>
+ * module com.example.AppModule
+ * inject com.example.Service com.example.Dao,int
+ * </pre>
+ * Indexes of several jars can be concatenated, the injector merges every copy on the classpath.
+ * <p>
+ * The binary names of the generated classes are always listed in {@value #GENERATED}, so the injector only
+ * looks up generated classes that exist.
+ */
+@SupportedAnnotationTypes("*")
+@SupportedOptions(EasyInjectProcessor.INDEX_OPTION)
+public final class EasyInjectProcessor extends AbstractProcessor {
+
+    static final String INJECT = "xyz.juliandev.easy.annotations.Inject";
+    static final String PROVIDES = "xyz.juliandev.easy.annotations.Provides";
+    static final String QUALIFIER = "xyz.juliandev.easy.annotations.Qualifier";
+    static final String NAMED = "xyz.juliandev.easy.annotations.Named";
+    static final String PROVIDER = "xyz.juliandev.easy.injector.Provider";
+    static final String ABSTRACT_MODULE = "xyz.juliandev.easy.module.AbstractModule";
+
+    /**
+     * Injected wrapper types by their Dependency factory method
+     */
+    static final Map<String, String> WRAPPERS = Map.of(
+            PROVIDER, "providerOf",
+            "xyz.juliandev.easy.injector.Lazy", "lazyOf",
+            "xyz.juliandev.easy.injector.AsyncProvider", "asyncProviderOf",
+            "java.util.concurrent.CompletableFuture", "futureOf",
+            "xyz.juliandev.easy.injector.ObjectPool", "poolOf"
+    );
+
+    static final String FACTORY_SUFFIX = "_EasyFactory";
+    static final String MEMBERS_INJECTOR_SUFFIX = "_EasyMembersInjector";
+
+    static final String INDEX_OPTION = "easyinject.index";
+    static final String INDEX = "META-INF/easyinject/index";
+    static final String GENERATED = "META-INF/easyinject/generated";
+
+    private final Set<String> processed = new HashSet<>();
+    private final Set<String> index = new TreeSet<>();
+    private final Set<String> compiled = new HashSet<>();
+    private final Set<String> generated = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement inject = processingEnv.getElementUtils().getTypeElement(INJECT);
+        TypeElement provides = processingEnv.getElementUtils().getTypeElement(PROVIDES);
+        if (provides != null) {
+            for (ExecutableElement method : ElementFilter.methodsIn(roundEnv.getElementsAnnotatedWith(provides))) {
+                checkProvides(method);
+            }
+        }
+        boolean indexing = Boolean.parseBoolean(processingEnv.getOptions().get(INDEX_OPTION));
+        if (indexing) {
+            indexModules(ElementFilter.typesIn(roundEnv.getRootElements()));
+            if (roundEnv.processingOver()) {
+                writeIndex();
+            }
+        }
+        if (roundEnv.processingOver()) {
+            writeGenerated();
+        }
+        if (inject == null) {
+            return false;
+        }
+        Set<TypeElement> types = new LinkedHashSet<>();
+        for (Element element : roundEnv.getElementsAnnotatedWith(inject)) {
+            if (element.getKind() == ElementKind.CONSTRUCTOR || element.getKind() == ElementKind.FIELD) {
+                types.add((TypeElement) element.getEnclosingElement());
+            }
+            if (indexing && element.getKind() == ElementKind.CONSTRUCTOR) {
+                indexConstructor((ExecutableElement) element);
+            }
+        }
+        for (TypeElement type : types) {
+            if (processed.add(type.getQualifiedName().toString()) && reachable(type)) {
+                try {
+                    writeFactory(type);
+                    writeMembersInjector(type);
+                } catch (IOException e) {
+                    error(type, "Can't write generated source: " + e.getMessage());
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the concrete module classes with a no-arg constructor among types and their nested types to the index
+     */
+    private void indexModules(Collection<TypeElement> types) {
+        TypeElement abstractModule = processingEnv.getElementUtils().getTypeElement(ABSTRACT_MODULE);
+        if (abstractModule == null) {
+            return;
+        }
+        TypeMirror moduleType = processingEnv.getTypeUtils().erasure(abstractModule.asType());
+        for (TypeElement type : types) {
+            compiled.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+            indexModules(ElementFilter.typesIn(type.getEnclosedElements()));
+            if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)
+                    || type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)
+                    || !processingEnv.getTypeUtils().isSubtype(type.asType(), moduleType)) {
+                continue;
+            }
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getParameters().isEmpty()) {
+                    index.add("module " + processingEnv.getElementUtils().getBinaryName(type));
+                }
+            }
+        }
+    }
+
+    private void indexConstructor(ExecutableElement constructor) {
+        StringJoiner parameters = new StringJoiner(",");
+        for (VariableElement parameter : constructor.getParameters()) {
+            parameters.add(binaryName(parameter.asType()));
+        }
+        index.add("inject " + processingEnv.getElementUtils().getBinaryName((TypeElement) constructor.getEnclosingElement()) + " " + parameters);
+    }
+
+    /**
+     * @return name of type as returned by Class.getName
+     */
+    private String binaryName(TypeMirror type) {
+        TypeMirror erased = processingEnv.getTypeUtils().erasure(type);
+        if (erased.getKind().isPrimitive()) {
+            return erased.toString();
+        }
+        if (erased.getKind() == TypeKind.ARRAY) {
+            TypeMirror component = ((ArrayType) erased).getComponentType();
+            String name = binaryName(component);
+            return "[" + (component.getKind() == TypeKind.ARRAY ? name : component.getKind().isPrimitive() ? primitiveDescriptor(component.getKind()) : "L" + name + ";");
+        }
+        return processingEnv.getElementUtils().getBinaryName((TypeElement) ((DeclaredType) erased).asElement()).toString();
+    }
+
+    private static String primitiveDescriptor(TypeKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return "Z";
+            case LONG:
+                return "J";
+            default:
+                return kind.name().substring(0, 1);
+        }
+    }
+
+    /**
+     * Writes the index, keeping the entries of an index left by an earlier (incremental) compilation
+     * for classes that weren't compiled again
+     */
+    private void writeIndex() {
+        if (index.isEmpty()) {
+            return;
+        }
+        Set<String> entries = new TreeSet<>(index);
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                reader.lines().filter(line -> !line.isBlank() && !line.startsWith("#"))
+                        .filter(line -> line.indexOf(' ') > 0 && !compiled.contains(line.split(" ")[1]))
+                        .forEach(entries::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No earlier index
+        }
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX).openWriter()) {
+            writer.write("# Generated by " + EasyInjectProcessor.class.getName() + "\n");
+            for (String entry : entries) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't write " + INDEX + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the list of generated classes, keeping the entries of a list left by an earlier (incremental) compilation.
+     * Entries of classes that are gone only cost the injector a failed lookup.
+     */
+    private void writeGenerated() {
+        if (generated.isEmpty()) {
+            return;
+        }
+        Set<String> entries = new TreeSet<>(generated);
+        try {
+            FileObject existing = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", GENERATED);
+            try (BufferedReader reader = new BufferedReader(existing.openReader(true))) {
+                reader.lines().filter(line -> !line.isBlank() && !line.startsWith("#")).forEach(entries::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // No earlier list
+        }
+        try (Writer writer = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", GENERATED).openWriter()) {
+            writer.write("# Generated by " + EasyInjectProcessor.class.getName() + "\n");
+            for (String entry : entries) {
+                writer.write(entry);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Can't write " + GENERATED + ": " + e.getMessage());
+        }
+    }
+
+    private void checkProvides(ExecutableElement method) {
+        if (method.getReturnType().getKind() == TypeKind.VOID) {
+            error(method, "@Provides method must return a value");
+        }
+        TypeElement module = (TypeElement) method.getEnclosingElement();
+        TypeElement abstractModule = processingEnv.getElementUtils().getTypeElement(ABSTRACT_MODULE);
+        if (abstractModule != null && !processingEnv.getTypeUtils().isSubtype(module.asType(), processingEnv.getTypeUtils().erasure(abstractModule.asType()))) {
+            error(method, "@Provides method must be declared in a subclass of " + ABSTRACT_MODULE);
+        }
+        qualifier(method);
+    }
+
+    private void writeFactory(TypeElement type) throws IOException {
+        ExecutableElement constructor = null;
+        for (ExecutableElement c : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+            if (annotation(c, INJECT) != null) {
+                if (constructor != null) {
+                    error(c, type.getQualifiedName() + " has multiple @Inject constructors");
+                    return;
+                }
+                constructor = c;
+            }
+        }
+        if (constructor == null || constructor.getModifiers().contains(Modifier.PRIVATE) || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return;
+        }
+
+        String typeName = rawName(type.asType());
+        List<? extends VariableElement> parameters = constructor.getParameters();
+        for (VariableElement parameter : parameters) {
+            if (!keyable(parameter)) {
+                return;
+            }
+        }
+        StringBuilder dependencies = new StringBuilder();
+        StringBuilder args = new StringBuilder();
+        for (int i = 0; i < parameters.size(); ++i) {
+            VariableElement parameter = parameters.get(i);
+            dependencies.append(i == 0 ? "" : ",").append("\n            ").append(dependency(parameter));
+            args.append(i == 0 ? "" : ", ").append("(").append(rawName(parameter.asType())).append(") args[").append(i).append("]");
+        }
+
+        String name = generatedName(type, FACTORY_SUFFIX);
+        StringBuilder source = header(type)
+                .append("public final class ").append(name).append(" implements xyz.juliandev.easy.injector.GeneratedFactory<").append(typeName).append("> {\n\n")
+                .append("    private static final xyz.juliandev.easy.injector.Dependency[] DEPENDENCIES = {").append(dependencies).append("\n    };\n\n")
+                .append("    @Override\n")
+                .append("    public xyz.juliandev.easy.injector.Dependency[] dependencies() {\n")
+                .append("        return DEPENDENCIES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(typeName).append(" create(Object[] args) {\n")
+                .append("        return new ").append(typeName).append("(").append(args).append(");\n")
+                .append("    }\n")
+                .append("}\n");
+        write(type, name, source);
+    }
+
+    private void writeMembersInjector(TypeElement type) throws IOException {
+        List<VariableElement> fields = new ArrayList<>();
+        TypeElement current = type;
+        while (current != null && !current.getQualifiedName().contentEquals("java.lang.Object")) {
+            for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+                if (annotation(field, INJECT) != null) {
+                    if (!assignable(type, field) || !keyable(field)) {
+                        return;
+                    }
+                    fields.add(field);
+                }
+            }
+            TypeMirror superclass = current.getSuperclass();
+            current = superclass.getKind() == TypeKind.DECLARED ? (TypeElement) ((DeclaredType) superclass).asElement() : null;
+        }
+        if (fields.isEmpty()) {
+            return;
+        }
+
+        String typeName = rawName(type.asType());
+        StringBuilder dependencies = new StringBuilder();
+        StringBuilder assignments = new StringBuilder();
+        for (int i = 0; i < fields.size(); ++i) {
+            VariableElement field = fields.get(i);
+            String owner = rawName(field.getEnclosingElement().asType());
+            dependencies.append(i == 0 ? "" : ",").append("\n            ").append(dependency(field));
+            assignments.append("        ((").append(owner).append(") target).").append(field.getSimpleName())
+                    .append(" = (").append(rawName(field.asType())).append(") values[").append(i).append("];\n");
+        }
+
+        String name = generatedName(type, MEMBERS_INJECTOR_SUFFIX);
+        StringBuilder source = header(type)
+                .append("public final class ").append(name).append(" implements xyz.juliandev.easy.injector.GeneratedMembersInjector<").append(typeName).append("> {\n\n")
+                .append("    private static final xyz.juliandev.easy.injector.Dependency[] DEPENDENCIES = {").append(dependencies).append("\n    };\n\n")
+                .append("    @Override\n")
+                .append("    public xyz.juliandev.easy.injector.Dependency[] dependencies() {\n")
+                .append("        return DEPENDENCIES;\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public void inject(").append(typeName).append(" target, Object[] values) {\n")
+                .append(assignments)
+                .append("    }\n")
+                .append("}\n");
+        write(type, name, source);
+    }
+
+    /**
+     * @return source expression creating the Dependency of a parameter or field
+     */
+    private String dependency(VariableElement element) {
+        TypeMirror type = element.asType();
+        String factory = type.getKind() == TypeKind.DECLARED ? WRAPPERS.get(rawName(type)) : null;
+        if (factory != null) {
+            List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+            if (arguments.isEmpty()) {
+                error(element, rawName(type) + " injection requires a type argument");
+                return "null";
+            }
+            type = arguments.get(0);
+        }
+        return "xyz.juliandev.easy.injector.Dependency." + (factory != null ? factory : "of") + "(" + key(type, qualifier(element)) + ")";
+    }
+
+    /**
+     * @return false if the Key of element can only be built reflectively (Maps with keys other than String)
+     */
+    private boolean keyable(VariableElement element) {
+        TypeMirror type = element.asType();
+        if (type.getKind() == TypeKind.DECLARED && WRAPPERS.containsKey(rawName(type)) && ((DeclaredType) type).getTypeArguments().size() == 1) {
+            type = ((DeclaredType) type).getTypeArguments().get(0);
+        }
+        if (type.getKind() != TypeKind.DECLARED || !rawName(type).equals("java.util.Map")) {
+            return true;
+        }
+        List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+        return arguments.isEmpty() || rawName(arguments.get(0)).equals("java.lang.String");
+    }
+
+    /**
+     * @return source expression creating the Key of type, with the erased element type for Set and Map&lt;String, V&gt;
+     */
+    private String key(TypeMirror type, AnnotationMirror qualifier) {
+        String rawName = rawName(type);
+        List<? extends TypeMirror> arguments = type.getKind() == TypeKind.DECLARED ? ((DeclaredType) type).getTypeArguments() : List.of();
+        if (rawName.equals("java.util.Set") && arguments.size() == 1) {
+            return key("xyz.juliandev.easy.injector.Key.ofSet(", rawName(arguments.get(0)), qualifier);
+        }
+        if (rawName.equals("java.util.Map") && arguments.size() == 2 && rawName(arguments.get(0)).equals("java.lang.String")) {
+            return key("xyz.juliandev.easy.injector.Key.ofMap(", rawName(arguments.get(1)), qualifier);
+        }
+        return key("xyz.juliandev.easy.injector.Key.of(", rawName, qualifier);
+    }
+
+    private String key(String factory, String typeName, AnnotationMirror qualifier) {
+        String type = typeName + ".class";
+        if (qualifier == null) {
+            return factory + type + ")";
+        }
+        TypeElement qualifierType = (TypeElement) qualifier.getAnnotationType().asElement();
+        if (qualifierType.getQualifiedName().contentEquals(NAMED)) {
+            String name = "";
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : qualifier.getElementValues().entrySet()) {
+                if (value.getKey().getSimpleName().contentEquals("value")) {
+                    name = (String) value.getValue().getValue();
+                }
+            }
+            return factory + type + ", " + processingEnv.getElementUtils().getConstantExpression(name) + ")";
+        }
+        return factory + type + ", " + qualifierType.getQualifiedName() + ".class)";
+    }
+
+    private AnnotationMirror qualifier(Element element) {
+        AnnotationMirror qualifier = null;
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (annotation(annotation.getAnnotationType().asElement(), QUALIFIER) != null) {
+                if (qualifier != null) {
+                    error(element, "Multiple qualifier annotations found: " + qualifier.getAnnotationType() + ", " + annotation.getAnnotationType());
+                }
+                qualifier = annotation;
+            }
+        }
+        return qualifier;
+    }
+
+    private AnnotationMirror annotation(Element element, String annotationType) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationType)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return whether generated code in the package of type can name and instantiate type
+     */
+    private boolean reachable(TypeElement type) {
+        Element current = type;
+        while (current instanceof TypeElement element) {
+            if (element.getNestingKind() == NestingKind.LOCAL || element.getNestingKind() == NestingKind.ANONYMOUS
+                    || element.getModifiers().contains(Modifier.PRIVATE)
+                    || (element.getNestingKind() == NestingKind.MEMBER && !element.getModifiers().contains(Modifier.STATIC) && element.getKind() == ElementKind.CLASS)) {
+                return false;
+            }
+            current = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * @return whether generated code in the package of type can assign field
+     */
+    private boolean assignable(TypeElement type, VariableElement field) {
+        Set<Modifier> modifiers = field.getModifiers();
+        if (modifiers.contains(Modifier.PRIVATE) || modifiers.contains(Modifier.FINAL)) {
+            return false;
+        }
+        TypeElement owner = (TypeElement) field.getEnclosingElement();
+        boolean samePackage = processingEnv.getElementUtils().getPackageOf(owner).equals(processingEnv.getElementUtils().getPackageOf(type));
+        return (samePackage || modifiers.contains(Modifier.PUBLIC)) && (owner.equals(type) || reachable(owner));
+    }
+
+    private String rawName(TypeMirror type) {
+        return processingEnv.getTypeUtils().erasure(type).toString();
+    }
+
+    private String generatedName(TypeElement type, String suffix) {
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String qualifiedName = type.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? qualifiedName : qualifiedName.substring(packageName.length() + 1);
+        // '_' is escaped as "_1" so Outer_Inner and Outer.Inner map to different names; see Generated.name
+        return simpleName.replace("_", "_1").replace('.', '_') + suffix;
+    }
+
+    private StringBuilder header(TypeElement type) {
+        StringBuilder source = new StringBuilder();
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        if (!packageElement.isUnnamed()) {
+            source.append("package ").append(packageElement.getQualifiedName()).append(";\n\n");
+        }
+        return source.append("/**\n * Generated by ").append(EasyInjectProcessor.class.getName()).append(" for ").append(type.getQualifiedName()).append("\n */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+    }
+
+    private void write(TypeElement type, String name, CharSequence source) throws IOException {
+        PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+        String qualifiedName = packageElement.isUnnamed() ? name : packageElement.getQualifiedName() + "." + name;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(source.toString());
+        }
+        generated.add(qualifiedName);
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
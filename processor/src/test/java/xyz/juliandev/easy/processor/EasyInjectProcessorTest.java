@@ -0,0 +1,229 @@
+package xyz.juliandev.easy.processor;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import xyz.juliandev.easy.Easy;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class EasyInjectProcessorTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void generatesFactoryAndMembersInjector() throws Exception {
+        Path out = compile("""
+                package sample;
+
+                import xyz.juliandev.easy.annotations.Inject;
+                import xyz.juliandev.easy.injector.Provider;
+
+                public class Outer {
+                    public static class Dep {}
+
+                    public static class Target {
+                        final Dep dep;
+                        final Provider<Dep> depProvider;
+
+                        @Inject
+                        Target(Dep dep, Provider<Dep> depProvider) {
+                            this.dep = dep;
+                            this.depProvider = depProvider;
+                        }
+                    }
+
+                    public static class Fields {
+                        @Inject
+                        Dep dep;
+                    }
+
+                    public static class PrivateFields {
+                        @Inject
+                        private Dep dep;
+                    }
+
+                    public static class Collections {
+                        final java.util.Set<Dep> deps;
+
+                        @Inject
+                        Collections(java.util.Set<Dep> deps, java.util.Map<Integer, Dep> byNumber) {
+                            this.deps = deps;
+                        }
+                    }
+
+                    public static class Deferred {
+                        final xyz.juliandev.easy.injector.Lazy<Dep> dep;
+                        final java.util.concurrent.CompletableFuture<Dep> future;
+
+                        @Inject
+                        Deferred(xyz.juliandev.easy.injector.Lazy<Dep> dep, java.util.concurrent.CompletableFuture<Dep> future) {
+                            this.dep = dep;
+                            this.future = future;
+                        }
+                    }
+
+                    public static class Snake_Case {
+                        @Inject
+                        Snake_Case(Dep dep) {
+                        }
+                    }
+
+                    public static class StringMap {
+                        final java.util.Map<String, Dep> deps;
+
+                        @Inject
+                        StringMap(java.util.Map<String, Dep> deps) {
+                            this.deps = deps;
+                        }
+                    }
+                }
+                """);
+
+        assertTrue(Files.exists(out.resolve("sample/Outer_Target_EasyFactory.class")));
+        assertTrue(Files.exists(out.resolve("sample/Outer_Fields_EasyMembersInjector.class")));
+        assertFalse(Files.exists(out.resolve("sample/Outer_PrivateFields_EasyMembersInjector.class")));
+        assertFalse(Files.exists(out.resolve("sample/Outer_Collections_EasyFactory.class")));
+        assertTrue(Files.exists(out.resolve("sample/Outer_StringMap_EasyFactory.class")));
+        assertTrue(Files.exists(out.resolve("sample/Outer_Deferred_EasyFactory.class")));
+        assertTrue(Files.exists(out.resolve("sample/Outer_Snake_1Case_EasyFactory.class")));
+        List<String> listed = Files.readAllLines(out.resolve("META-INF/easyinject/generated"));
+        assertTrue(listed.contains("sample.Outer_Target_EasyFactory"));
+        assertTrue(listed.contains("sample.Outer_Fields_EasyMembersInjector"));
+        assertFalse(listed.contains("sample.Outer_Collections_EasyFactory"));
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())) {
+            EasyInjector injector = Easy.createInjector();
+            Object target = injector.getInstance(loader.loadClass("sample.Outer$Target"));
+            assertNotNull(field(target, "dep"));
+
+            Object fields = loader.loadClass("sample.Outer$Fields").getConstructor().newInstance();
+            injector.injectObjectFields(fields);
+            assertNotNull(field(fields, "dep"));
+
+            Object deferred = injector.getInstance(loader.loadClass("sample.Outer$Deferred"));
+            assertNotNull(((xyz.juliandev.easy.injector.Lazy<?>) field(deferred, "dep")).get());
+            assertNotNull(((java.util.concurrent.CompletableFuture<?>) field(deferred, "future")).get());
+
+            assertEquals(java.util.Map.of(), field(injector.getInstance(loader.loadClass("sample.Outer$StringMap")), "deps"));
+        }
+    }
+
+    @Test
+    public void writesIndex() throws Exception {
+        String code = """
+                package sample;
+
+                import xyz.juliandev.easy.annotations.Inject;
+                import xyz.juliandev.easy.annotations.Provides;
+                import xyz.juliandev.easy.module.AbstractModule;
+
+                public class Indexed {
+                    public static class Dep {}
+
+                    public static class Service {
+                        final Dep dep;
+
+                        @Inject
+                        Service(Dep dep, int[] counts, java.util.List<String> names) {
+                            this.dep = dep;
+                        }
+                    }
+
+                    public static class AppModule extends AbstractModule {
+                        @Provides
+                        String name() {
+                            return "app";
+                        }
+                    }
+
+                    public static class EmptyModule extends AbstractModule {}
+
+                    public static class ConfiguredModule extends AbstractModule {
+                        ConfiguredModule(String config) {}
+                    }
+
+                    public abstract static class BaseModule extends AbstractModule {}
+                }
+                """;
+        assertFalse(Files.exists(compile(code).resolve(EasyInjectProcessor.INDEX)));
+
+        Path out = compile(code, "-A" + EasyInjectProcessor.INDEX_OPTION + "=true");
+        List<String> index = Files.readAllLines(out.resolve(EasyInjectProcessor.INDEX));
+        assertEquals(List.of(
+                "inject sample.Indexed$Service sample.Indexed$Dep,[I,java.util.List",
+                "module sample.Indexed$AppModule",
+                "module sample.Indexed$EmptyModule"
+        ), index.subList(1, index.size()));
+
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, getClass().getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            assertEquals("app", Easy.createInjectorFromIndex().getInstance(String.class));
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    @Test
+    public void multipleInjectConstructorsFail() throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path source = source("""
+                package sample;
+
+                import xyz.juliandev.easy.annotations.Inject;
+
+                public class Twice {
+                    @Inject
+                    Twice() {}
+
+                    @Inject
+                    Twice(String s) {}
+                }
+                """);
+        int result = compiler.run(null, null, null, "-proc:only", "-processor", EasyInjectProcessor.class.getName(),
+                "-cp", System.getProperty("java.class.path"), "-d", folder.newFolder().getPath(), source.toString());
+        assertEquals(1, result);
+    }
+
+    private Object field(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
+    private Path compile(String code, String... options) throws Exception {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Path source = source(code);
+        File out = folder.newFolder();
+        List<String> arguments = new ArrayList<>(List.of(options));
+        arguments.addAll(List.of("-processor", EasyInjectProcessor.class.getName(),
+                "-cp", System.getProperty("java.class.path"), "-d", out.getPath(), "-s", out.getPath(), source.toString()));
+        int result = compiler.run(null, null, null, arguments.toArray(new String[0]));
+        assertEquals(0, result);
+        return out.toPath();
+    }
+
+    private Path source(String code) throws Exception {
+        String name = code.substring(code.indexOf("public class ") + 13, code.indexOf(" {"));
+        Path source = folder.newFolder().toPath().resolve(name + ".java");
+        Files.writeString(source, code);
+        return source;
+    }
+}
@@ -2,8 +2,10 @@ package xyz.juliandev.easy;
 
 import xyz.juliandev.easy.injector.EasyInjector;
 import xyz.juliandev.easy.injector.EasyInjectorImpl;
+import xyz.juliandev.easy.injector.InjectorOptions;
 import xyz.juliandev.easy.module.AbstractModule;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 
 public final class Easy {
@@ -23,4 +25,56 @@ public final class Easy {
     public static EasyInjector createInjector(Iterable<? extends AbstractModule> modules) {
         return new EasyInjectorImpl(modules);
     }
+
+    /**
+     * Constructs EasyInjector with options and configuration modules
+     */
+    public static EasyInjector createInjector(InjectorOptions options, AbstractModule... modules) {
+        return new EasyInjectorImpl(options, Arrays.asList(modules));
+    }
+
+    /**
+     * Constructs EasyInjector with options and configuration modules
+     */
+    public static EasyInjector createInjector(InjectorOptions options, Iterable<? extends AbstractModule> modules) {
+        return new EasyInjectorImpl(options, modules);
+    }
+
+    /**
+     * Constructs EasyInjector with configuration modules, read from the graph snapshot file when it is
+     * up to date and (re)writing it otherwise, see {@link InjectorOptions#snapshot}
+     */
+    public static EasyInjector createInjector(Path snapshot, AbstractModule... modules) {
+        return new EasyInjectorImpl(InjectorOptions.defaults().snapshot(snapshot), Arrays.asList(modules));
+    }
+
+    /**
+     * Constructs EasyInjector with the modules listed in the build-time indexes on the classpath,
+     * written by the annotation processor with {@code -Aeasyinject.index=true}
+     */
+    public static EasyInjector createInjectorFromIndex() {
+        return createInjectorFromIndex(InjectorOptions.defaults());
+    }
+
+    /**
+     * Constructs EasyInjector with options and the modules listed in the build-time indexes on the classpath
+     */
+    public static EasyInjector createInjectorFromIndex(InjectorOptions options) {
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return EasyInjectorImpl.fromIndex(options, context != null ? context : Easy.class.getClassLoader());
+    }
+
+    /**
+     * Constructs an immutable EasyInjector, see {@link EasyInjector#freeze}
+     */
+    public static EasyInjector createFrozenInjector(AbstractModule... modules) {
+        return createInjector(modules).freeze();
+    }
+
+    /**
+     * Constructs an immutable EasyInjector serving the modules' bindings and the roots, see {@link EasyInjector#freeze}
+     */
+    public static EasyInjector createFrozenInjector(Iterable<? extends AbstractModule> modules, Class<?>... roots) {
+        return createInjector(modules).freeze(roots);
+    }
 }
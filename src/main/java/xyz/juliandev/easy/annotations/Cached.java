@@ -0,0 +1,35 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * The instance is kept like a singleton, but only for a limited time and within a size bound.
+ * Bindings of the same type share the size bound, so qualified variants (for example @Named ones)
+ * beyond maxSize are dropped oldest first. A dropped instance is created again on next use.
+ */
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface Cached {
+
+    /**
+     * @return maximum number of bindings of the annotated type holding an instance at the same time
+     */
+    int maxSize() default 64;
+
+    /**
+     * @return time after creation when the instance is dropped, 0 keeps it until it is dropped for size
+     */
+    long expireAfter() default 10;
+
+    TimeUnit unit() default TimeUnit.MINUTES;
+
+    /**
+     * @return whether the instance is held through a soft reference, so the garbage collector may drop it under memory pressure
+     */
+    boolean soft() default false;
+}
@@ -0,0 +1,17 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value of a @Provides method is contributed as one entry to the {@code Map<String, T>} of its type
+ * (and qualifier), under the key given by {@link StringKey}
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface IntoMap {
+}
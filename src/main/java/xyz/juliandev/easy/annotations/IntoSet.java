@@ -0,0 +1,17 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The value of a @Provides method is contributed as one element to the {@code Set} of its type
+ * (and qualifier), instead of being bound on its own
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface IntoSet {
+}
@@ -0,0 +1,28 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.util.concurrent.TimeUnit;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Instances are borrowed from and returned to a bounded pool per binding, see {@link xyz.juliandev.easy.injector.ObjectPool}
+ */
+@Scope
+@Documented
+@Retention(RUNTIME)
+public @interface Pooled {
+
+    /**
+     * @return maximum number of idle instances kept, further returned instances are discarded
+     */
+    int maxSize() default 16;
+
+    /**
+     * @return time after which an idle instance is discarded, 0 keeps idle instances forever
+     */
+    long maxIdle() default 60;
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+}
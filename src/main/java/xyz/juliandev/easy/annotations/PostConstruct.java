@@ -0,0 +1,16 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a no-arg method called after the injector created an instance, superclass methods first
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+@Documented
+public @interface PostConstruct {}
@@ -0,0 +1,16 @@
+package xyz.juliandev.easy.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Marks a no-arg method of a singleton called when its injector is closed, subclass methods first
+ */
+@Target(METHOD)
+@Retention(RUNTIME)
+@Documented
+public @interface PreDestroy {}
@@ -0,0 +1,14 @@
+package xyz.juliandev.easy.injector;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Provides instances created on the injector's async executor, see {@link InjectorOptions#asyncExecutor}
+ */
+public interface AsyncProvider<T> {
+
+    /**
+     * @return future completed with an instance, created like {@link Provider#get()} but off the calling thread
+     */
+    CompletableFuture<T> get();
+}
@@ -0,0 +1,88 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Singleton;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+import java.util.function.Function;
+
+/**
+ * A bound key together with the dependencies of the factory behind it
+ */
+final class Binding<T> {
+
+    private final Key<T> key;
+    private final Dependency[] dependencies;
+    private final Class<? extends Annotation> scope;
+    private final Provider<T> provider;
+    private final Provider<T> scoped;
+    private final Executable source;
+    private final Function<Provider<?>[], Binding<T>> relink;
+
+    Binding(Key<T> key, Dependency[] dependencies, Class<? extends Annotation> scope, Provider<T> provider) {
+        this(key, dependencies, scope, provider, null);
+    }
+
+    Binding(Key<T> key, Dependency[] dependencies, Class<? extends Annotation> scope, Provider<T> provider, Executable source) {
+        this(key, dependencies, scope, provider, provider, source, null);
+    }
+
+    Binding(Key<T> key, Dependency[] dependencies, Class<? extends Annotation> scope, Provider<T> provider, Provider<T> scoped,
+            Executable source, Function<Provider<?>[], Binding<T>> relink) {
+        this.key = key;
+        this.dependencies = dependencies;
+        this.scope = scope;
+        this.provider = provider;
+        this.scoped = scoped;
+        this.source = source;
+        this.relink = relink;
+    }
+
+    Key<T> getKey() {
+        return key;
+    }
+
+    Dependency[] getDependencies() {
+        return dependencies;
+    }
+
+    /**
+     * @return scope annotation type or null when unscoped
+     */
+    Class<? extends Annotation> getScope() {
+        return scope;
+    }
+
+    boolean isSingleton() {
+        return scope == Singleton.class;
+    }
+
+    /**
+     * @return the scoped provider of this binding
+     */
+    Provider<T> getProvider() {
+        return provider;
+    }
+
+    /**
+     * @return the provider created by the scope handler, without instrumentation
+     */
+    Provider<T> getScoped() {
+        return scoped;
+    }
+
+    /**
+     * @return the constructor or provider method behind this binding, null for generated and internal bindings
+     */
+    Executable getSource() {
+        return source;
+    }
+
+    /**
+     * @return an equivalent binding whose factory takes its dependencies from params, one provider per dependency
+     * returning the injected value; this binding if it has nothing to relink
+     */
+    Binding<T> relink(Provider<?>[] params) {
+        return relink != null ? relink.apply(params) : this;
+    }
+}
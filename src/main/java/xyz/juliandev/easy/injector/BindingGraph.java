@@ -0,0 +1,196 @@
+package xyz.juliandev.easy.injector;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Graph algorithms over bindings and their dependencies
+ */
+final class BindingGraph {
+
+    private BindingGraph() {}
+
+    /**
+     * @return all bindings reachable from roots through instance dependencies, and deferred (Provider, Lazy, async) dependencies if followProviders.
+     * Dependencies the resolver returns null for are skipped.
+     */
+    static Map<Key<?>, Binding<?>> reachable(Collection<Binding<?>> roots, Function<Key<?>, Binding<?>> resolver, boolean followProviders) {
+        Map<Key<?>, Binding<?>> graph = new LinkedHashMap<>();
+        Deque<Binding<?>> pending = new ArrayDeque<>(roots);
+        while (!pending.isEmpty()) {
+            Binding<?> binding = pending.pop();
+            if (graph.putIfAbsent(binding.getKey(), binding) == null) {
+                for (Dependency dependency : binding.getDependencies()) {
+                    if ((followProviders || !dependency.isDeferred()) && !graph.containsKey(dependency.getKey())) {
+                        Binding<?> resolved = resolver.apply(dependency.getKey());
+                        if (resolved != null) {
+                            pending.push(resolved);
+                        }
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+
+    /**
+     * @return bindings of graph, every binding after its instance dependencies in graph
+     */
+    static List<Binding<?>> order(Map<Key<?>, Binding<?>> graph) {
+        Map<Key<?>, Integer> missing = new HashMap<>();
+        Map<Key<?>, List<Binding<?>>> dependents = new HashMap<>();
+        Deque<Binding<?>> ready = new ArrayDeque<>();
+        for (Binding<?> binding : graph.values()) {
+            int count = 0;
+            for (Dependency dependency : binding.getDependencies()) {
+                if (!dependency.isDeferred() && graph.containsKey(dependency.getKey())) {
+                    dependents.computeIfAbsent(dependency.getKey(), k -> new ArrayList<>()).add(binding);
+                    count++;
+                }
+            }
+            missing.put(binding.getKey(), count);
+            if (count == 0) {
+                ready.add(binding);
+            }
+        }
+        List<Binding<?>> order = new ArrayList<>(graph.size());
+        while (!ready.isEmpty()) {
+            Binding<?> binding = ready.poll();
+            order.add(binding);
+            for (Binding<?> dependent : dependents.getOrDefault(binding.getKey(), Collections.emptyList())) {
+                if (missing.merge(dependent.getKey(), -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (order.size() != graph.size()) {
+            List<Key<?>> cycle = new ArrayList<>();
+            for (Map.Entry<Key<?>, Integer> entry : missing.entrySet()) {
+                if (entry.getValue() > 0) {
+                    cycle.add(entry.getKey());
+                }
+            }
+            throw new EasyInjectorRuntimeException(String.format("Circular dependency between %s", cycle));
+        }
+        return order;
+    }
+
+    /**
+     * @return the keys on an instance dependency path from start back to itself, or null if start is on no cycle.
+     * Dependencies the resolver returns null for are skipped.
+     */
+    static List<Key<?>> cycleThrough(Binding<?> start, Function<Key<?>, Binding<?>> resolver) {
+        Set<Key<?>> visited = new HashSet<>();
+        Deque<Binding<?>> path = new ArrayDeque<>();
+        Deque<Integer> next = new ArrayDeque<>();
+        path.push(start);
+        next.push(0);
+        visited.add(start.getKey());
+        while (!path.isEmpty()) {
+            Dependency[] dependencies = path.peek().getDependencies();
+            int index = next.pop();
+            if (index == dependencies.length) {
+                path.pop();
+                continue;
+            }
+            next.push(index + 1);
+            Dependency dependency = dependencies[index];
+            if (dependency.isDeferred()) {
+                continue;
+            }
+            if (dependency.getKey().equals(start.getKey())) {
+                List<Key<?>> cycle = new ArrayList<>();
+                path.descendingIterator().forEachRemaining(binding -> cycle.add(binding.getKey()));
+                cycle.add(start.getKey());
+                return cycle;
+            }
+            if (visited.add(dependency.getKey())) {
+                Binding<?> resolved = resolver.apply(dependency.getKey());
+                if (resolved != null) {
+                    path.push(resolved);
+                    next.push(0);
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return every group of bindings in graph depending on each other through instance dependencies,
+     * found in a single iterative Tarjan pass
+     */
+    static List<List<Key<?>>> cycles(Map<Key<?>, Binding<?>> graph) {
+        Map<Key<?>, Integer> index = new HashMap<>();
+        Map<Key<?>, Integer> lowLink = new HashMap<>();
+        Set<Key<?>> onStack = new HashSet<>();
+        Deque<Key<?>> stack = new ArrayDeque<>();
+        Deque<Binding<?>> path = new ArrayDeque<>();
+        Deque<Integer> next = new ArrayDeque<>();
+        List<List<Key<?>>> cycles = new ArrayList<>();
+        for (Binding<?> root : graph.values()) {
+            if (index.containsKey(root.getKey())) {
+                continue;
+            }
+            visit(root, index, lowLink, onStack, stack, path, next);
+            while (!path.isEmpty()) {
+                Binding<?> binding = path.peek();
+                Key<?> key = binding.getKey();
+                Dependency[] dependencies = binding.getDependencies();
+                int i = next.pop();
+                if (i < dependencies.length) {
+                    next.push(i + 1);
+                    Key<?> dependency = dependencies[i].getKey();
+                    Binding<?> target = graph.get(dependency);
+                    if (dependencies[i].isDeferred() || target == null) {
+                        continue;
+                    }
+                    if (!index.containsKey(dependency)) {
+                        visit(target, index, lowLink, onStack, stack, path, next);
+                    } else if (onStack.contains(dependency)) {
+                        lowLink.put(key, Math.min(lowLink.get(key), index.get(dependency)));
+                    }
+                    continue;
+                }
+                path.pop();
+                if (!path.isEmpty()) {
+                    Key<?> parent = path.peek().getKey();
+                    lowLink.put(parent, Math.min(lowLink.get(parent), lowLink.get(key)));
+                }
+                if (lowLink.get(key).equals(index.get(key))) {
+                    List<Key<?>> component = new ArrayList<>();
+                    Key<?> member;
+                    do {
+                        member = stack.pop();
+                        onStack.remove(member);
+                        component.add(member);
+                    } while (!member.equals(key));
+                    if (component.size() > 1 || dependsOn(binding, key)) {
+                        Collections.reverse(component);
+                        cycles.add(component);
+                    }
+                }
+            }
+        }
+        return cycles;
+    }
+
+    private static void visit(Binding<?> binding, Map<Key<?>, Integer> index, Map<Key<?>, Integer> lowLink, Set<Key<?>> onStack,
+                              Deque<Key<?>> stack, Deque<Binding<?>> path, Deque<Integer> next) {
+        Key<?> key = binding.getKey();
+        index.put(key, index.size());
+        lowLink.put(key, index.get(key));
+        stack.push(key);
+        onStack.add(key);
+        path.push(binding);
+        next.push(0);
+    }
+
+    private static boolean dependsOn(Binding<?> binding, Key<?> key) {
+        for (Dependency dependency : binding.getDependencies()) {
+            if (!dependency.isDeferred() && dependency.getKey().equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,188 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Cached;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scope of @Cached bindings. Each binding holds at most one instance, created on first use like a singleton.
+ * Reads are a single volatile load; expiry and the size bound are enforced on the eviction thread.
+ * <p>
+ * Bindings of the same type form a region: once more than maxSize of them hold an instance,
+ * the oldest instances are dropped. Each injector gets a handler of its own, shared with its child injectors only,
+ * so injectors created from the same options don't evict each other's instances. Regions only hold entries weakly,
+ * so the entries of a discarded injector are collected and their expiry tasks stop.
+ * Closing the injector stops them right away.
+ */
+final class CachedScope implements ScopeHandler {
+
+    private static final int MAX_SIZE = 64;
+    private static final long EXPIRE_AFTER = TimeUnit.MINUTES.toNanos(10);
+
+    private final Map<Class<?>, Region> regions = new ConcurrentHashMap<>();
+
+    CachedScope() {}
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+        return cache(key, unscoped, MAX_SIZE, EXPIRE_AFTER, false);
+    }
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped, Annotation annotation) {
+        if (!(annotation instanceof Cached)) {
+            return scope(key, unscoped);
+        }
+        Cached cached = (Cached) annotation;
+        if (cached.maxSize() <= 0) {
+            throw new EasyInjectorRuntimeException(String.format("@Cached maxSize of %s must be positive", key));
+        }
+        return cache(key, unscoped, cached.maxSize(), cached.unit().toNanos(cached.expireAfter()), cached.soft());
+    }
+
+    private <T> Provider<T> cache(Key<T> key, Provider<T> unscoped, int maxSize, long expireAfterNanos, boolean soft) {
+        Region region = regions.computeIfAbsent(key.getType(), type -> new Region());
+        Entry<T> entry = new Entry<>(unscoped, region, maxSize, expireAfterNanos, soft);
+        if (expireAfterNanos > 0) {
+            entry.expiry = Eviction.schedule(entry, Math.max(expireAfterNanos / 2, TimeUnit.MILLISECONDS.toNanos(10)), Entry::expire);
+        }
+        return entry;
+    }
+
+    /**
+     * Cached instance of one binding
+     */
+    private static final class Entry<T> implements Provider<T>, Eviction.Scheduled {
+        private final Provider<T> unscoped;
+        private final Region region;
+        private final WeakReference<Entry<?>> reference = new WeakReference<>(this);
+        private final int maxSize;
+        private final long expireAfterNanos;
+        private final boolean soft;
+        private volatile Object value;
+        private long createdAt;
+        private volatile Future<?> expiry;
+
+        private Entry(Provider<T> unscoped, Region region, int maxSize, long expireAfterNanos, boolean soft) {
+            this.unscoped = unscoped;
+            this.region = region;
+            this.maxSize = maxSize;
+            this.expireAfterNanos = expireAfterNanos;
+            this.soft = soft;
+        }
+
+        @Override
+        public T get() {
+            T instance = instance(value);
+            return instance != null ? instance : create();
+        }
+
+        private synchronized T create() {
+            T instance = instance(value);
+            if (instance == null) {
+                boolean added = value == null;
+                instance = unscoped.get();
+                createdAt = System.nanoTime();
+                value = soft ? new SoftReference<>(instance) : instance;
+                if (added) {
+                    region.added(this, maxSize);
+                }
+            }
+            return instance;
+        }
+
+        @SuppressWarnings("unchecked")
+        private T instance(Object value) {
+            return soft && value != null ? ((SoftReference<T>) value).get() : (T) value;
+        }
+
+        private synchronized void expire() {
+            if (value != null && System.nanoTime() - createdAt >= expireAfterNanos) {
+                clear();
+            }
+        }
+
+        /**
+         * @return whether an instance was dropped
+         */
+        private synchronized boolean clear() {
+            if (value == null) {
+                return false;
+            }
+            value = null;
+            region.removed(this);
+            return true;
+        }
+
+        /**
+         * Stops the expiry task and drops the instance
+         */
+        @Override
+        public void cancel() {
+            Future<?> task = expiry;
+            if (task != null) {
+                task.cancel(false);
+            }
+            clear();
+        }
+    }
+
+    /**
+     * Entries of one type holding an instance, oldest first. A collected entry still counts towards the size
+     * until trimming reaches it.
+     */
+    private static final class Region {
+        private final Queue<WeakReference<Entry<?>>> filled = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean trimming = new AtomicBoolean();
+
+        private void added(Entry<?> entry, int maxSize) {
+            filled.add(entry.reference);
+            size.incrementAndGet();
+            trimLater(maxSize);
+        }
+
+        private void trimLater(int maxSize) {
+            if (size.get() > maxSize && trimming.compareAndSet(false, true)) {
+                Eviction.submit(() -> trim(maxSize));
+            }
+        }
+
+        private void removed(Entry<?> entry) {
+            filled.remove(entry.reference);
+            size.decrementAndGet();
+        }
+
+        private void trim(int maxSize) {
+            try {
+                while (size.get() > maxSize) {
+                    WeakReference<Entry<?>> reference = filled.peek();
+                    if (reference == null) {
+                        break;
+                    }
+                    Entry<?> oldest = reference.get();
+                    if (oldest == null) {
+                        if (filled.remove(reference)) {
+                            size.decrementAndGet();
+                        }
+                    } else if (!oldest.clear()) {
+                        filled.remove(reference);
+                    }
+                }
+            } finally {
+                trimming.set(false);
+            }
+            trimLater(maxSize);
+        }
+    }
+}
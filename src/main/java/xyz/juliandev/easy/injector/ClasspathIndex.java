@@ -0,0 +1,126 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Build-time index of module classes and @Inject constructors written by the EasyInject annotation processor
+ * to {@value #RESOURCE}. Every copy on the classpath is merged, classes are only loaded when they are used.
+ * Entries of classes that no longer exist or changed since the index was written are ignored.
+ */
+final class ClasspathIndex {
+
+    static final String RESOURCE = "META-INF/easyinject/index";
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class
+    );
+
+    private final ClassLoader loader;
+    private final Set<String> modules;
+    private final Map<String, List<String[]>> constructors;
+
+    private ClasspathIndex(ClassLoader loader, Set<String> modules, Map<String, List<String[]>> constructors) {
+        this.loader = loader;
+        this.modules = modules;
+        this.constructors = constructors;
+    }
+
+    /**
+     * @return the merged indexes visible to loader
+     */
+    static ClasspathIndex load(ClassLoader loader) {
+        Set<String> modules = new LinkedHashSet<>();
+        Map<String, List<String[]>> constructors = new HashMap<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        String[] entry = line.trim().split(" ");
+                        if (entry.length >= 2 && entry[0].equals("module")) {
+                            modules.add(entry[1]);
+                        } else if (entry.length >= 2 && entry[0].equals("inject")) {
+                            String[] parameters = entry.length > 2 ? entry[2].split(",") : new String[0];
+                            constructors.computeIfAbsent(entry[1], k -> new ArrayList<>(1)).add(parameters);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new EasyInjectorRuntimeException(String.format("Can't read %s", RESOURCE), e);
+        }
+        return new ClasspathIndex(loader, modules, constructors);
+    }
+
+    /**
+     * @return a new instance of every indexed module class
+     */
+    List<AbstractModule> modules() {
+        List<AbstractModule> instances = new ArrayList<>(modules.size());
+        for (String name : modules) {
+            Class<?> type;
+            try {
+                type = Class.forName(name, false, loader);
+            } catch (ClassNotFoundException e) {
+                continue;
+            }
+            if (!AbstractModule.class.isAssignableFrom(type)) {
+                continue;
+            }
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                instances.add((AbstractModule) constructor.newInstance());
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                throw new EasyInjectorRuntimeException(String.format("Can't create indexed module %s", name), e);
+            }
+        }
+        return Collections.unmodifiableList(instances);
+    }
+
+    /**
+     * @return the indexed, accessible @Inject constructor of type, or null if the index has none for it
+     */
+    Constructor<?> constructor(Class<?> type) {
+        List<String[]> signatures = constructors.get(type.getName());
+        if (signatures == null) {
+            return null;
+        }
+        ClassLoader typeLoader = type.getClassLoader() != null ? type.getClassLoader() : loader;
+        for (String[] signature : signatures) {
+            try {
+                Class<?>[] parameterTypes = new Class<?>[signature.length];
+                for (int i = 0; i < signature.length; ++i) {
+                    Class<?> primitive = PRIMITIVES.get(signature[i]);
+                    parameterTypes[i] = primitive != null ? primitive : Class.forName(signature[i], false, typeLoader);
+                }
+                Constructor<?> constructor = type.getDeclaredConstructor(parameterTypes);
+                if (constructor.isAnnotationPresent(Inject.class)) {
+                    constructor.setAccessible(true);
+                    return constructor;
+                }
+            } catch (ClassNotFoundException | NoSuchMethodException e) {
+                // Signature of an older build, try the next one
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,124 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * A single injection point of a binding: the key it requires and how its value is injected
+ */
+public final class Dependency {
+
+    /**
+     * How the value of a dependency is injected
+     */
+    public enum Kind {
+        /** an instance of the key */
+        INSTANCE,
+        /** a {@link Provider} of the key */
+        PROVIDER,
+        /** a {@link Lazy} creating the instance on first use */
+        LAZY,
+        /** an {@link AsyncProvider} creating instances on the async executor */
+        ASYNC_PROVIDER,
+        /** a {@link java.util.concurrent.CompletableFuture} of an instance created on the async executor */
+        FUTURE,
+        /** the {@link ObjectPool} of a @Pooled key */
+        POOL
+    }
+
+    private static final Kind[] KINDS = Kind.values();
+
+    private final Key<?> key;
+    private final Kind kind;
+
+    private Dependency(Key<?> key, Kind kind) {
+        this.key = key;
+        this.kind = kind;
+    }
+
+    /**
+     * @return dependency injected as an instance of key
+     */
+    public static Dependency of(Key<?> key) {
+        return new Dependency(key, Kind.INSTANCE);
+    }
+
+    /**
+     * @return dependency injected as a Provider of key
+     */
+    public static Dependency providerOf(Key<?> key) {
+        return new Dependency(key, Kind.PROVIDER);
+    }
+
+    /**
+     * @return dependency injected as a Lazy of key
+     */
+    public static Dependency lazyOf(Key<?> key) {
+        return new Dependency(key, Kind.LAZY);
+    }
+
+    /**
+     * @return dependency injected as an AsyncProvider of key
+     */
+    public static Dependency asyncProviderOf(Key<?> key) {
+        return new Dependency(key, Kind.ASYNC_PROVIDER);
+    }
+
+    /**
+     * @return dependency injected as a CompletableFuture of key
+     */
+    public static Dependency futureOf(Key<?> key) {
+        return new Dependency(key, Kind.FUTURE);
+    }
+
+    /**
+     * @return dependency injected as the ObjectPool of key
+     */
+    public static Dependency poolOf(Key<?> key) {
+        return new Dependency(key, Kind.POOL);
+    }
+
+    /**
+     * @return dependency on key injected the given way
+     */
+    static Dependency of(Key<?> key, Kind kind) {
+        return new Dependency(key, kind);
+    }
+
+    /**
+     * @return kind by its ordinal
+     */
+    static Kind kind(int ordinal) {
+        return KINDS[ordinal];
+    }
+
+    public Key<?> getKey() {
+        return key;
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return true if the dependent can be created without an instance of key, for everything but {@link Kind#INSTANCE}
+     */
+    public boolean isDeferred() {
+        return kind != Kind.INSTANCE;
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case PROVIDER:
+                return "Provider<" + key + ">";
+            case LAZY:
+                return "Lazy<" + key + ">";
+            case ASYNC_PROVIDER:
+                return "AsyncProvider<" + key + ">";
+            case FUTURE:
+                return "CompletableFuture<" + key + ">";
+            case POOL:
+                return "ObjectPool<" + key + ">";
+            default:
+                return key.toString();
+        }
+    }
+}
@@ -2,7 +2,10 @@ package xyz.juliandev.easy.injector;
 
 import xyz.juliandev.easy.module.AbstractModule;
 
-public interface EasyInjector {
+import java.util.Collection;
+import java.util.concurrent.Executor;
+
+public interface EasyInjector extends AutoCloseable {
 
     /**
      * @return an instance of type
@@ -26,6 +29,64 @@ public interface EasyInjector {
 
     boolean injectObjectFields(Object target);
 
+    /**
+     * Injects fields of every target, spreading the work across targets rather than fields
+     */
+    boolean injectObjectFields(Collection<?> targets);
+
     void addDynamicModule(AbstractModule abstractModule);
 
+    /**
+     * Atomically replaces a registered module, readers see either all old or all new bindings
+     */
+    void replaceModule(AbstractModule oldModule, AbstractModule newModule);
+
+    /**
+     * Atomically unregisters a module and its bindings
+     */
+    void removeModule(AbstractModule abstractModule);
+
+    /**
+     * Creates a child injector holding only the bindings of modules. Other keys are delegated to this injector,
+     * sharing its bindings and singletons, so a child is cheap to create and to keep around.
+     */
+    EasyInjector createChildInjector(AbstractModule... modules);
+
+    /**
+     * Instantiates every singleton reachable from the registered bindings up front, using the common pool
+     */
+    void warmUp();
+
+    /**
+     * Instantiates every singleton reachable from the registered bindings up front.
+     * Singletons are created in dependency order, independent subgraphs in parallel on executor.
+     */
+    void warmUp(Executor executor);
+
+    /**
+     * Validates and resolves every binding reachable from the registered bindings and roots,
+     * and returns an immutable injector serving them from a flat table. Other keys are rejected by the result.
+     * Singletons are created while freezing and shared with this injector; later module changes of this
+     * injector don't affect the result.
+     */
+    EasyInjector freeze(Class<?>... roots);
+
+    /**
+     * Resolves every binding reachable from the registered bindings and reports all missing bindings,
+     * ambiguous qualifiers and circular dependencies at once
+     *
+     * @throws EasyInjectorRuntimeException listing every problem found
+     */
+    void validate();
+
+    /**
+     * Calls the @PreDestroy methods and closes the AutoCloseable singletons created by this injector.
+     * A singleton is closed after every singleton depending on it, independent ones in parallel.
+     * Components exceeding the close timeout are interrupted, see {@link InjectorOptions#closeTimeout}.
+     *
+     * @throws EasyInjectorRuntimeException listing every component that failed to close, after all others were closed
+     */
+    @Override
+    void close();
+
 }
@@ -1,27 +1,139 @@
 package xyz.juliandev.easy.injector;
 
 import xyz.juliandev.easy.annotations.Inject;
-import xyz.juliandev.easy.annotations.Provides;
 import xyz.juliandev.easy.annotations.Qualifier;
+import xyz.juliandev.easy.annotations.Scope;
 import xyz.juliandev.easy.annotations.Singleton;
 import xyz.juliandev.easy.module.AbstractModule;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.*;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public final class EasyInjectorImpl implements EasyInjector {
 
-    private final Map<Key<?>, Provider<?>> providers = new ConcurrentHashMap<>();
-    private final Map<Key<?>, Object> singletons = new ConcurrentHashMap<>();
+    private final Map<Key<?>, Binding<?>> bindings = new ConcurrentHashMap<>();
+    private final Object moduleLock = new Object();
+    private volatile ModuleSnapshot modules = ModuleSnapshot.EMPTY;
+    private final Map<Key<?>, Object> creationLocks = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MembersInjector> membersInjectors = new ConcurrentHashMap<>();
+    private volatile long membersGeneration;
+    private final Map<Key<?>, Inherited> inherited = new ConcurrentHashMap<>();
+
+    private final EasyInjectorImpl parent;
+
+    private final InjectionStrategy injectionStrategy;
+    private final Map<Class<? extends Annotation>, ScopeHandler> scopes;
+    private final InjectorListener listener;
+    private final Executor asyncExecutor;
+    private final GraphSnapshot graphSnapshot;
+    private final ClasspathIndex classpathIndex;
+    private final Lifecycle lifecycle = new Lifecycle();
+    private final int closeParallelism;
+    private final long closeTimeoutNanos;
 
     public EasyInjectorImpl(Iterable<? extends AbstractModule> modules) {
-        providers.put(Key.of(EasyInjectorImpl.class), (Provider<EasyInjectorImpl>) () -> EasyInjectorImpl.this);
+        this(InjectorOptions.defaults(), modules);
+    }
+
+    public EasyInjectorImpl(InjectorOptions options, Iterable<? extends AbstractModule> modules) {
+        this(options, modules, null);
+    }
+
+    private EasyInjectorImpl(InjectorOptions options, Iterable<? extends AbstractModule> modules, ClasspathIndex classpathIndex) {
+        this.parent = null;
+        this.classpathIndex = classpathIndex;
+        this.injectionStrategy = options.getInjectionStrategy();
+        this.scopes = new HashMap<>(options.getScopes());
+        // Options may be reused for several injectors, which must not evict each other's cached instances
+        this.scopes.replaceAll((annotation, handler) -> handler instanceof CachedScope ? new CachedScope() : handler);
+        this.listener = Instrumentation.ENABLED ? options.getListener() : null;
+        this.asyncExecutor = options.getAsyncExecutor();
+        this.closeParallelism = options.getCloseParallelism();
+        this.closeTimeoutNanos = options.getCloseTimeout().toNanos();
+        bindSelf();
+        Path snapshotPath = options.getSnapshot();
+        this.graphSnapshot = snapshotPath != null ? GraphSnapshot.read(snapshotPath) : null;
+        if (graphSnapshot == null) {
+            ModuleScan.prepare(modules);
+        }
+        boolean complete = graphSnapshot != null;
+        Set<Class<?>> moduleClasses = new LinkedHashSet<>();
+        ModuleSnapshot snapshot = ModuleSnapshot.EMPTY;
         for (final AbstractModule module : modules) {
-            for (Method providerMethod : providers(module.getClass())) {
-                providerMethod(module, providerMethod);
+            List<ModuleScan.Provision> provisions = graphSnapshot != null ? graphSnapshot.provisions(module.getClass()) : null;
+            complete &= provisions != null;
+            moduleClasses.add(module.getClass());
+            snapshot = snapshot.with(module, provisions != null ? moduleBindings(module, provisions) : moduleBindings(module));
+        }
+        checkCycles(snapshot);
+        this.modules = snapshot;
+        if (snapshotPath != null && !complete) {
+            writeSnapshot(snapshotPath, moduleClasses);
+        }
+        if (options.isValidateOnCreate()) {
+            validate();
+        }
+    }
+
+    /**
+     * Child injector: holds the bindings of its own modules and shares the options, bindings and scoped instances of parent
+     */
+    private EasyInjectorImpl(EasyInjectorImpl parent, Iterable<? extends AbstractModule> modules) {
+        this.parent = parent;
+        this.injectionStrategy = parent.injectionStrategy;
+        this.scopes = parent.scopes;
+        this.listener = parent.listener;
+        this.asyncExecutor = parent.asyncExecutor;
+        this.closeParallelism = parent.closeParallelism;
+        this.closeTimeoutNanos = parent.closeTimeoutNanos;
+        this.graphSnapshot = parent.graphSnapshot;
+        this.classpathIndex = parent.classpathIndex;
+        bindSelf();
+        ModuleSnapshot snapshot = ModuleSnapshot.EMPTY;
+        for (AbstractModule module : modules) {
+            snapshot = snapshot.with(module, moduleBindings(module));
+        }
+        checkCycles(snapshot);
+        this.modules = snapshot;
+    }
+
+    /**
+     * @return injector with the modules listed in the build-time indexes visible to loader,
+     * just-in-time bindings look their @Inject constructor up in the indexes too
+     */
+    public static EasyInjectorImpl fromIndex(InjectorOptions options, ClassLoader loader) {
+        ClasspathIndex index = ClasspathIndex.load(loader);
+        return new EasyInjectorImpl(options, index.modules(), index);
+    }
+
+    private void bindSelf() {
+        Key<EasyInjectorImpl> self = Key.of(EasyInjectorImpl.class);
+        bindings.put(self, new Binding<>(self, new Dependency[0], null, () -> EasyInjectorImpl.this));
+    }
+
+    /**
+     * Writes the bindings reachable from the modules to a graph snapshot at path
+     */
+    private void writeSnapshot(Path path, Collection<Class<?>> moduleClasses) {
+        Map<Key<?>, Binding<?>> graph = BindingGraph.reachable(knownBindings(), key -> {
+            try {
+                return binding(key);
+            } catch (EasyInjectorRuntimeException e) {
+                return null;
             }
+        }, true);
+        try {
+            GraphSnapshot.write(path, moduleClasses, graph.values());
+        } catch (IOException e) {
+            // The snapshot only speeds up startup, an unwritable location must not fail injector creation
         }
     }
 
@@ -31,7 +143,7 @@ public final class EasyInjectorImpl implements EasyInjector {
      */
     @Override
     public <T> T getInstance(Class<T> type) {
-        return provider(Key.of(type), null).get();
+        return provider(Key.of(type)).get();
     }
 
     /**
@@ -39,7 +151,7 @@ public final class EasyInjectorImpl implements EasyInjector {
      */
     @Override
     public <T> T getInstance(Key<T> key) {
-        return provider(key, null).get();
+        return provider(key).get();
     }
 
     /**
@@ -47,7 +159,7 @@ public final class EasyInjectorImpl implements EasyInjector {
      */
     @Override
     public <T> Provider<T> getProvider(Class<T> type) {
-        return provider(Key.of(type), null);
+        return provider(Key.of(type));
     }
 
     /**
@@ -55,7 +167,17 @@ public final class EasyInjectorImpl implements EasyInjector {
      */
     @Override
     public <T> Provider<T> getProvider(Key<T> key) {
-        return provider(key, null);
+        return provider(key);
+    }
+
+    /**
+     * Creates a child injector with the bindings of modules. Keys the child's modules don't bind are served by
+     * this injector, so singletons are shared; just-in-time bindings are created here too, unless they depend
+     * on a key bound by the child's modules.
+     */
+    @Override
+    public EasyInjector createChildInjector(AbstractModule... modules) {
+        return new EasyInjectorImpl(this, Arrays.asList(modules));
     }
 
     /**
@@ -63,170 +185,634 @@ public final class EasyInjectorImpl implements EasyInjector {
      */
     @Override
     public void addDynamicModule(AbstractModule abstractModule) {
-        for (Method providerMethod : providers(abstractModule.getClass())) {
-            providerMethod(abstractModule, providerMethod);
+        ModuleSnapshot.Registration moduleBindings = moduleBindings(abstractModule);
+        synchronized (moduleLock) {
+            publish(modules.with(abstractModule, moduleBindings));
         }
     }
 
     /**
-     * Injects fields to the target object
+     * Replaces a registered module with another one in a single step
      */
     @Override
-    public boolean injectObjectFields(Object target) {
-        Object[][] fieldsToInject = injectFields(target.getClass());
-        return Arrays.stream(fieldsToInject)
-                .parallel()
-                .allMatch(fieldData -> {
-                    Field field = (Field) fieldData[0];
-                    Key<?> key = (Key<?>) fieldData[2];
+    public void replaceModule(AbstractModule oldModule, AbstractModule newModule) {
+        ModuleSnapshot.Registration moduleBindings = moduleBindings(newModule);
+        synchronized (moduleLock) {
+            publish(modules.without(oldModule).with(newModule, moduleBindings));
+        }
+    }
+
+    /**
+     * Unregisters a module and its bindings
+     */
+    @Override
+    public void removeModule(AbstractModule abstractModule) {
+        synchronized (moduleLock) {
+            publish(modules.without(abstractModule));
+        }
+    }
+
+    /**
+     * Checks snapshot for circular dependencies and makes it visible to readers
+     */
+    private void publish(ModuleSnapshot snapshot) {
+        checkCycles(snapshot);
+        modules = snapshot;
+    }
+
+    /**
+     * @return version of the bindings visible to this injector, changes whenever the modules of it or an ancestor change
+     */
+    private long generation() {
+        long generation = modules.version;
+        return parent == null ? generation : Math.max(generation, parent.generation());
+    }
+
+    /**
+     * @return true if key is bound by the modules of this injector or an ancestor
+     */
+    private boolean boundByModule(Key<?> key) {
+        return modules.get(key) != null || parent != null && parent.boundByModule(key);
+    }
+
+    private void checkCycles(ModuleSnapshot snapshot) {
+        BindingGraph.order(BindingGraph.reachable(snapshot.bindings(), key -> {
+            Binding<?> binding = snapshot.get(key);
+            return binding != null ? binding : bindings.get(key);
+        }, false));
+    }
+
+    /**
+     * Resolves every binding reachable from the known bindings and reports all missing bindings,
+     * ambiguous qualifiers and circular dependencies in a single exception
+     */
+    @Override
+    public void validate() {
+        List<String> problems = new ArrayList<>();
+        Map<Key<?>, Binding<?>> graph = new LinkedHashMap<>();
+        Map<Key<?>, Binding<?>> created = new LinkedHashMap<>();
+        Set<Key<?>> failed = new HashSet<>();
+        Deque<Binding<?>> pending = new ArrayDeque<>(knownBindings());
+        while (!pending.isEmpty()) {
+            Binding<?> binding = pending.pop();
+            if (graph.putIfAbsent(binding.getKey(), binding) != null) {
+                continue;
+            }
+            for (Dependency dependency : binding.getDependencies()) {
+                Key<?> key = dependency.getKey();
+                if (graph.containsKey(key) || failed.contains(key)) {
+                    continue;
+                }
+                Binding<?> resolved = boundBinding(key);
+                if (resolved == null) {
+                    // Cycles are left to the single pass below instead of a search per created binding
                     try {
-                        field.set(target, (boolean) fieldData[1] ? getProvider(key) : getInstance(key));
-                        return true;
-                    } catch (IllegalAccessException e) {
-                        return false;
+                        resolved = justInTimeBinding(key);
+                        created.put(key, resolved);
+                    } catch (EasyInjectorRuntimeException e) {
+                        failed.add(key);
+                        List<Key<?>> qualified = otherQualifiers(key);
+                        problems.add(qualified.isEmpty() ?
+                                String.format("Can't bind %s required by %s: %s", key, binding.getKey(), e.getMessage()) :
+                                String.format("Ambiguous qualifier: %s required by %s, bound are %s", key, binding.getKey(), qualified));
+                        continue;
                     }
-                });
+                }
+                pending.push(resolved);
+            }
+        }
+        Set<Key<?>> cyclic = new HashSet<>();
+        for (List<Key<?>> cycle : BindingGraph.cycles(graph)) {
+            cyclic.addAll(cycle);
+            problems.add(String.format("Circular dependency between %s", cycle));
+        }
+        // Bindings on a cycle stay unpublished, so using them still fails with the dependency chain
+        for (Binding<?> binding : created.values()) {
+            if (!cyclic.contains(binding.getKey()) && bindings.putIfAbsent(binding.getKey(), binding) == null
+                    && Instrumentation.ENABLED && listener != null) {
+                listener.bindingCreated(binding.getKey(), true);
+            }
+        }
+        if (!problems.isEmpty()) {
+            throw new EasyInjectorRuntimeException(String.format("Invalid binding graph, %d problems:%n  %s", problems.size(), String.join(String.format("%n  "), problems)));
+        }
     }
 
-    @SuppressWarnings("unchecked")
-    private <T> Provider<T> provider(final Key<T> key, Set<Key<?>> chain) {
-        if (!providers.containsKey(key)) {
-            final Constructor<?> constructor = constructor(key);
-            final Provider<?>[] paramProviders = paramProviders(key, constructor.getParameterTypes(), constructor.getGenericParameterTypes(), constructor.getParameterAnnotations(), chain);
-            providers.put(key, singletonProvider(key, key.getType().getAnnotation(Singleton.class), (Provider<?>) () -> {
-                        try {
-                            return constructor.newInstance(params(paramProviders));
-                        } catch (Exception e) {
-                            throw new EasyInjectorRuntimeException(String.format("Can't instantiate %s", key), e);
-                        }
-                    })
-            );
+    /**
+     * @return the binding of key registered or created in this injector or shared by an ancestor, null if there is none yet
+     */
+    private Binding<?> boundBinding(Key<?> key) {
+        Binding<?> binding = existingBinding(key);
+        return binding != null || parent == null ? binding : inherited(key);
+    }
+
+    /**
+     * @return module bound keys of key's type with another qualifier, empty if key itself is bound by a module
+     */
+    private List<Key<?>> otherQualifiers(Key<?> key) {
+        ModuleSnapshot snapshot = modules;
+        if (boundByModule(key)) {
+            return Collections.emptyList();
+        }
+        List<Key<?>> qualified = new ArrayList<>();
+        for (Binding<?> binding : snapshot.bindings()) {
+            if (binding.getKey().getType().equals(key.getType())) {
+                qualified.add(binding.getKey());
+            }
+        }
+        return qualified;
+    }
+
+    /**
+     * @return the registered or already created binding of key, null if there is none yet
+     */
+    private Binding<?> existingBinding(Key<?> key) {
+        Binding<?> binding = modules.get(key);
+        return binding != null ? binding : bindings.get(key);
+    }
+
+    /**
+     * Instantiates all singletons reachable from the known bindings on the common pool
+     */
+    @Override
+    public void warmUp() {
+        warmUp(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Instantiates all singletons reachable from the known bindings, independent ones in parallel on executor
+     */
+    @Override
+    public void warmUp(Executor executor) {
+        WarmUp.run(knownBindings(), key -> binding(key), executor);
+    }
+
+    /**
+     * Freezes the bindings reachable from the registered bindings and roots into an immutable injector.
+     * Singletons are created now and shared; every other binding is relinked straight to the frozen
+     * providers of its dependencies, so later module changes of this injector don't reach the frozen one.
+     */
+    @Override
+    public EasyInjector freeze(Class<?>... roots) {
+        List<Binding<?>> known = knownBindings();
+        for (Class<?> root : roots) {
+            known.add(binding(Key.of(root)));
         }
-        return (Provider<T>) providers.get(key);
+        Map<Key<?>, Binding<?>> graph = BindingGraph.reachable(known, key -> binding(key), true);
+        List<Binding<?>> order = BindingGraph.order(graph);
+        Map<Key<?>, Integer> slots = new HashMap<>();
+        for (Binding<?> binding : order) {
+            slots.put(binding.getKey(), slots.size());
+        }
+        Provider<?>[] providers = new Provider<?>[order.size()];
+        Provider<?>[] scoped = new Provider<?>[order.size()];
+        for (int i = 0; i < providers.length; ++i) {
+            Binding<?> binding = order.get(i);
+            if (binding.isSingleton()) {
+                binding.getProvider().get();
+            } else {
+                Dependency[] dependencies = binding.getDependencies();
+                Provider<?>[] params = new Provider<?>[dependencies.length];
+                for (int j = 0; j < dependencies.length; ++j) {
+                    params[j] = frozenParam(dependencies[j], slots.get(dependencies[j].getKey()), providers, scoped);
+                }
+                binding = binding.relink(params);
+            }
+            providers[i] = binding.getProvider();
+            scoped[i] = binding.getScoped();
+        }
+        List<Key<?>> keys = new ArrayList<>(order.size());
+        for (Binding<?> binding : order) {
+            Key<?> key = binding.getKey();
+            keys.add(key);
+            for (Dependency dependency : binding.getDependencies()) {
+                if (dependency.getKind() == Dependency.Kind.POOL && !(scoped[slots.get(dependency.getKey())] instanceof ObjectPool)) {
+                    throw new EasyInjectorRuntimeException(String.format("%s is not @Pooled, it has no ObjectPool", dependency.getKey()));
+                }
+            }
+        }
+        return new FrozenInjector(this, keys, providers, scoped);
     }
 
-    private void providerMethod(AbstractModule module, Method m) {
-        Key<?> key = Key.of(m.getReturnType(), qualifier(m.getAnnotations()));
-        if (providers.containsKey(key)) {
-            throw new EasyInjectorRuntimeException("Multiple providers for " + key + " in module " + module.getClass());
+    /**
+     * @return provider of the value injected for dependency in a frozen graph. Instance dependencies are built
+     * before their dependents and linked directly, deferred ones may be built later and are read from the tables on use.
+     */
+    private Provider<?> frozenParam(Dependency dependency, int slot, Provider<?>[] providers, Provider<?>[] scoped) {
+        Dependency.Kind kind = dependency.getKind();
+        if (kind == Dependency.Kind.INSTANCE) {
+            return providers[slot];
+        }
+        if (kind == Dependency.Kind.POOL) {
+            return () -> scoped[slot];
         }
+        Provider<?> target = providers[slot] != null ? providers[slot] : () -> providers[slot].get();
+        return () -> value(kind, target);
+    }
 
-        Singleton singleton = m.getAnnotation(Singleton.class);
-        Provider<?>[] paramProviders = paramProviders(key, m.getParameterTypes(), m.getGenericParameterTypes(), m.getParameterAnnotations(), Collections.singleton(key));
-        providers.put(key, singletonProvider(key, singleton, () -> {
-            try {
-                return m.invoke(module, params(paramProviders));
-            } catch (Exception e) {
-                throw new EasyInjectorRuntimeException("Cannot instantiate " + key + " with provider", e);
+    /**
+     * Closes the singletons created by this injector in reverse dependency order, see {@link EasyInjector#close},
+     * then stops evicting the pooled and cached instances of its bindings.
+     * Singletons a child injector inherited from this one are closed here, not by the child.
+     */
+    @Override
+    public void close() {
+        try {
+            lifecycle.close(this::existingBinding, closeParallelism, closeTimeoutNanos);
+        } finally {
+            for (Binding<?> binding : knownBindings()) {
+                Eviction.cancel(binding.getScoped());
             }
-        }));
+        }
+    }
+
+    /**
+     * Injects fields to the target object
+     */
+    @Override
+    public boolean injectObjectFields(Object target) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        MembersInjector membersInjector = membersInjector(target.getClass());
+        boolean injected = injectionStrategy.run(membersInjector.size(), index -> membersInjector.inject(target, index));
+        if (Instrumentation.ENABLED && listener != null) {
+            listener.fieldsInjected(target.getClass(), System.nanoTime() - start);
+        }
+        return injected;
+    }
+
+    /**
+     * Injects fields to each target object, spreading the targets according to the injection strategy
+     */
+    @Override
+    public boolean injectObjectFields(Collection<?> targets) {
+        Object[] batch = targets.toArray();
+        return injectionStrategy.run(batch.length, index -> {
+            long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+            boolean injected = membersInjector(batch[index].getClass()).inject(batch[index]);
+            if (Instrumentation.ENABLED && listener != null) {
+                listener.fieldsInjected(batch[index].getClass(), System.nanoTime() - start);
+            }
+            return injected;
+        });
+    }
+
+    /**
+     * @return module and just-in-time bindings
+     */
+    private List<Binding<?>> knownBindings() {
+        List<Binding<?>> known = new ArrayList<>(modules.bindings());
+        known.addAll(bindings.values());
+        return known;
+    }
+
+    private MembersInjector membersInjector(Class<?> type) {
+        long generation = generation();
+        if (generation != membersGeneration) {
+            membersInjectors.clear();
+            membersGeneration = generation;
+        }
+        MembersInjector membersInjector = membersInjectors.get(type);
+        return membersInjector != null ? membersInjector : membersInjectors.computeIfAbsent(type, t -> new MembersInjector(t, this::provider));
+    }
+
+    private <T> Provider<T> provider(final Key<T> key) {
+        return binding(key).getProvider();
+    }
+
+    /**
+     * @return provider of the value injected for dependency
+     */
+    private Provider<?> provider(Dependency dependency) {
+        Provider<?> provider = dependency.getKind() == Dependency.Kind.POOL ? pool(dependency.getKey()) : provider(dependency.getKey());
+        Dependency.Kind kind = dependency.getKind();
+        return kind == Dependency.Kind.INSTANCE ? provider : () -> value(kind, provider);
+    }
+
+    /**
+     * @return the pool of a @Pooled key, as the provider its Link resolves to
+     */
+    private Provider<?> pool(Key<?> key) {
+        Provider<?> scoped = binding(key).getScoped();
+        if (!(scoped instanceof ObjectPool)) {
+            throw new EasyInjectorRuntimeException(String.format("%s is not @Pooled, it has no ObjectPool", key));
+        }
+        return scoped;
     }
 
     @SuppressWarnings("unchecked")
-    private <T> Provider<T> singletonProvider(final Key<?> key, Singleton singleton, final Provider<T> provider) {
-        return singleton != null ? () -> {
-            if (!singletons.containsKey(key)) {
-                synchronized (singletons) {
-                    if (!singletons.containsKey(key)) {
-                        singletons.put(key, provider.get());
+    private <T> Binding<T> binding(final Key<T> key) {
+        Binding<?> binding = modules.get(key);
+        if (binding == null) {
+            binding = bindings.get(key);
+        }
+        if (binding == null && parent != null) {
+            binding = inherited(key);
+        }
+        if (binding == null) {
+            Object lock = creationLocks.computeIfAbsent(key, k -> new Object());
+            try {
+                synchronized (lock) {
+                    binding = modules.get(key);
+                    binding = binding != null ? binding : bindings.get(key);
+                    if (binding == null) {
+                        Binding<?> created = justInTimeBinding(key);
+                        List<Key<?>> cycle = BindingGraph.cycleThrough(created, k -> k.equals(key) ? created : existingBinding(k));
+                        if (cycle != null) {
+                            throw new EasyInjectorRuntimeException(String.format("Circular dependency: %s", chain(cycle)));
+                        }
+                        binding = bindings.putIfAbsent(key, created);
+                        if (binding == null) {
+                            binding = created;
+                            if (Instrumentation.ENABLED && listener != null) {
+                                listener.bindingCreated(key, true);
+                            }
+                        }
                     }
                 }
+            } finally {
+                creationLocks.remove(key, lock);
             }
-            return (T) singletons.get(key);
-        } : provider;
-    }
-
-    private Provider<?>[] paramProviders(
-            final Key<?> key,
-            Class<?>[] parameterClasses,
-            Type[] parameterTypes,
-            Annotation[][] annotations,
-            final Set<Key<?>> chain
-    ) {
-        Provider<?>[] providers = new Provider<?>[parameterTypes.length];
-        for (int i = 0; i < parameterTypes.length; ++i) {
-            Class<?> parameterClass = parameterClasses[i];
-            Annotation qualifier = qualifier(annotations[i]);
-            Class<?> providerType = Provider.class.equals(parameterClass) ?
-                    (Class<?>) ((ParameterizedType) parameterTypes[i]).getActualTypeArguments()[0] :
-                    null;
-            if (providerType == null) {
-                final Key<?> newKey = Key.of(parameterClass, qualifier);
-                final Set<Key<?>> newChain = append(chain, key);
-                if (newChain.contains(newKey)) {
-                    throw new EasyInjectorRuntimeException(String.format("Circular dependency: %s", chain(newChain, newKey)));
-                }
-                providers[i] = () -> provider(newKey, newChain).get();
-            } else {
-                final Key<?> newKey = Key.of(providerType, qualifier);
-                providers[i] = () -> provider(newKey, null);
+        }
+        return (Binding<T>) binding;
+    }
+
+    /**
+     * @return the parent's binding of key, or null if the parent can't bind key or it has to be bound again
+     * here because it depends on a key bound by this injector's modules
+     */
+    private Binding<?> inherited(Key<?> key) {
+        long generation = generation();
+        Inherited entry = inherited.get(key);
+        if (entry != null && entry.generation == generation) {
+            return entry.binding;
+        }
+        // Decided on an unpublished candidate, so the parent never holds a binding it can only satisfy through this injector
+        Binding<?> candidate = parent.candidateBinding(key);
+        if (candidate == null || dependsOnOwnModules(candidate)) {
+            return null;
+        }
+        Binding<?> binding;
+        try {
+            binding = parent.binding(key);
+        } catch (EasyInjectorRuntimeException e) {
+            return null;
+        }
+        inherited.put(key, new Inherited(binding, generation));
+        return binding;
+    }
+
+    /**
+     * @return the binding of key in this injector or an ancestor, otherwise an unpublished just-in-time binding
+     * carrying only its dependencies; null if key can't be bound
+     */
+    private Binding<?> candidateBinding(Key<?> key) {
+        for (EasyInjectorImpl injector = this; injector != null; injector = injector.parent) {
+            Binding<?> binding = injector.existingBinding(key);
+            if (binding != null) {
+                return binding;
             }
         }
-        return providers;
+        try {
+            return justInTimeBinding(key, false);
+        } catch (EasyInjectorRuntimeException e) {
+            return null;
+        }
     }
 
-    private Object[] params(Provider<?>[] paramProviders) {
-        Object[] params = new Object[paramProviders.length];
-        for (int i = 0; i < paramProviders.length; ++i) {
-            params[i] = paramProviders[i].get();
+    /**
+     * @return true if a just-in-time binding of an ancestor reaches a key bound by this injector's modules.
+     * Module bindings of ancestors are always shared as they are.
+     */
+    private boolean dependsOnOwnModules(Binding<?> binding) {
+        ModuleSnapshot snapshot = modules;
+        if (snapshot.isEmpty() || parent.boundByModule(binding.getKey())) {
+            return false;
         }
-        return params;
+        Map<Key<?>, Binding<?>> graph = BindingGraph.reachable(List.of(binding),
+                key -> snapshot.get(key) != null || parent.boundByModule(key) ? null : parent.candidateBinding(key), true);
+        for (Binding<?> reached : graph.values()) {
+            for (Dependency dependency : reached.getDependencies()) {
+                if (snapshot.get(dependency.getKey()) != null) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return binding for the @Inject or no-arg constructor of key's type, an empty collection for Set and Map keys
+     */
+    private <T> Binding<T> justInTimeBinding(final Key<T> key) {
+        return justInTimeBinding(key, true);
     }
 
-    private Set<Key<?>> append(Set<Key<?>> set, Key<?> newKey) {
-        if (set != null && !set.isEmpty()) {
-            Set<Key<?>> appended = new LinkedHashSet<>(set);
-            appended.add(newKey);
-            return appended;
+    /**
+     * @param linked false for a binding with only the dependencies and scope of key, without providers or scope state
+     */
+    @SuppressWarnings("unchecked")
+    private <T> Binding<T> justInTimeBinding(final Key<T> key, boolean linked) {
+        if (key.arguments().length > 0) {
+            return (Binding<T>) Multibindings.aggregate(key, Collections.emptyList());
+        }
+        final GeneratedFactory<?> generated = Generated.factory(key.getType());
+        final GraphSnapshot.Entry entry = generated == null && graphSnapshot != null ? graphSnapshot.constructor(key) : null;
+        final Dependency[] dependencies;
+        final Factory factory;
+        final Constructor<?> source;
+        final Class<? extends Annotation> scope;
+        if (generated != null) {
+            dependencies = generated.dependencies();
+            factory = Factories.generated(generated);
+            source = null;
+            scope = scope(key.getType().getAnnotations());
+        } else if (entry != null) {
+            dependencies = entry.dependencies;
+            factory = Factories.constructor(entry.constructor);
+            source = entry.constructor;
+            scope = entry.scope;
         } else {
-            return Collections.singleton(newKey);
+            long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+            final Constructor<?> constructor = constructor(key);
+            dependencies = dependencies(constructor.getParameterTypes(), constructor.getGenericParameterTypes(), constructor.getParameterAnnotations());
+            factory = Factories.constructor(constructor);
+            source = constructor;
+            scope = scope(key.getType().getAnnotations());
+            if (Instrumentation.ENABLED && listener != null) {
+                listener.reflected(key.getType(), System.nanoTime() - start);
+            }
+        }
+        if (!linked) {
+            return new Binding<>(key, dependencies, scope, null, source);
         }
+        return scopedBinding(key, dependencies, scope, source, params -> () -> {
+            try {
+                return (T) factory.create(params);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new EasyInjectorRuntimeException(String.format("Can't instantiate %s", key), e);
+            }
+        });
     }
 
-    private Object[][] injectFields(Class<?> target) {
-        Set<Field> fields = getAnnotatedFields(target);
-        Object[][] fs = new Object[fields.size()][];
-        int i = 0;
-        for (Field f : fields) {
-            Class<?> providerType = f.getType().equals(Provider.class) ?
-                    (Class<?>) ((ParameterizedType) f.getGenericType()).getActualTypeArguments()[0] :
-                    null;
+    /**
+     * @return bindings and collection contributions of the @Provides methods of module
+     */
+    private ModuleSnapshot.Registration moduleBindings(AbstractModule module) {
+        long start = Instrumentation.ENABLED ? System.nanoTime() : 0;
+        List<ModuleScan.Provision> provisions = ModuleScan.of(module.getClass()).provisions();
+        if (Instrumentation.ENABLED && listener != null) {
+            listener.reflected(module.getClass(), System.nanoTime() - start);
+        }
+        return moduleBindings(module, provisions);
+    }
 
-            Class<?> providerClass = providerType != null ? providerType : f.getType();
+    private ModuleSnapshot.Registration moduleBindings(AbstractModule module, List<ModuleScan.Provision> provisions) {
+        List<Binding<?>> moduleBindings = new ArrayList<>(provisions.size());
+        List<Multibindings.Contribution> contributions = new ArrayList<>();
+        for (ModuleScan.Provision provision : provisions) {
+            Binding<?> binding = providerMethod(module, provision);
+            if (provision.collection != null) {
+                contributions.add(new Multibindings.Contribution(provision.collection, provision.mapKey, binding));
+            } else {
+                moduleBindings.add(binding);
+            }
+            if (Instrumentation.ENABLED && listener != null) {
+                listener.bindingCreated(binding.getKey(), false);
+            }
+        }
+        return new ModuleSnapshot.Registration(moduleBindings, contributions);
+    }
 
-            fs[i++] = new Object[]{
-                    f,
-                    providerType != null,
-                    Key.of(providerClass, qualifier(f.getAnnotations()))
-            };
+    @SuppressWarnings("unchecked")
+    private <T> Binding<T> providerMethod(AbstractModule module, ModuleScan.Provision provision) {
+        Key<T> key = (Key<T>) (provision.collection != null ? Key.contributor(provision.key, contributor(provision.method)) : provision.key);
+        Dependency[] dependencies = provision.dependencies;
+        Factory factory = Factories.method(provision.method, module);
+        return scopedBinding(key, dependencies, provision.scope, provision.method, params -> () -> {
+            try {
+                return (T) factory.create(params);
+            } catch (Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new EasyInjectorRuntimeException("Cannot instantiate " + key + " with provider", e);
+            }
+        });
+    }
+
+    /**
+     * @return binding of key creating its instances with the provider unscoped returns for the dependency providers,
+     * linked to this injector and relinkable to other dependency providers
+     */
+    private <T> Binding<T> scopedBinding(Key<T> key, Dependency[] dependencies, Class<? extends Annotation> scope, Executable source,
+                                         Function<Provider<?>[], Provider<T>> unscoped) {
+        return scopedBinding(key, dependencies, scope, source, unscoped.apply(paramProviders(dependencies)),
+                params -> scopedBinding(key, dependencies, scope, source, unscoped.apply(params), null));
+    }
+
+    private <T> Binding<T> scopedBinding(Key<T> key, Dependency[] dependencies, Class<? extends Annotation> scope, Executable source,
+                                         Provider<T> provider, Function<Provider<?>[], Binding<T>> relink) {
+        // Provider methods may return instances another binding constructed, they initialise their own instances
+        if (!(source instanceof Method) && Lifecycle.hasPostConstruct(key.getType())) {
+            provider = Lifecycle.postConstructing(key, provider);
+        }
+        if (scope == Singleton.class) {
+            provider = lifecycle.tracking(key, dependencies, provider);
+        }
+        if (Instrumentation.ENABLED && listener != null) {
+            provider = Instrumentation.constructing(listener, key, scope, provider);
         }
-        return fs;
+        Provider<T> scoped = provider;
+        if (scope != null) {
+            ScopeHandler handler = scopes.get(scope);
+            if (handler == null) {
+                throw new EasyInjectorRuntimeException(String.format("No scope handler bound for @%s of %s", scope.getSimpleName(), key));
+            }
+            Annotation annotation = source instanceof Method ? source.getAnnotation(scope) : key.getType().getAnnotation(scope);
+            scoped = handler.scope(key, provider, annotation);
+        }
+        Provider<T> instrumented = scoped;
+        if (Instrumentation.ENABLED && listener != null) {
+            instrumented = Instrumentation.providing(listener, key, scoped);
+        }
+        return new Binding<>(key, dependencies, scope, instrumented, scoped, source, relink);
     }
 
-    private Set<Field> getAnnotatedFields(Class<?> type) {
-        Class<?> current = type;
-        Set<Field> fields = new HashSet<>();
-        while (!current.equals(Object.class)) {
-            for (Field field : current.getDeclaredFields()) {
-                if (field.isAnnotationPresent(Inject.class)) {
-                    field.setAccessible(true);
-                    fields.add(field);
+    /**
+     * @return name of a contributing provider method, distinct among the methods of all module classes
+     */
+    private static String contributor(Method method) {
+        StringJoiner parameters = new StringJoiner(", ", "(", ")");
+        for (Class<?> parameter : method.getParameterTypes()) {
+            parameters.add(parameter.getTypeName());
+        }
+        return method.getDeclaringClass().getName() + "." + method.getName() + parameters;
+    }
+
+    /**
+     * @return the scope annotation type among annotations or null
+     */
+    static Class<? extends Annotation> scope(Annotation[] annotations) {
+        Class<? extends Annotation> scope = null;
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().isAnnotationPresent(Scope.class)) {
+                if (scope != null) {
+                    throw new EasyInjectorRuntimeException(String.format("Multiple scope annotations found: %s, %s", scope.getName(), annotation.annotationType().getName()));
                 }
+                scope = annotation.annotationType();
             }
-            current = current.getSuperclass();
         }
-        return fields;
+        return scope;
+    }
+
+    static Dependency[] dependencies(Class<?>[] parameterClasses, Type[] parameterTypes, Annotation[][] annotations) {
+        Dependency[] dependencies = new Dependency[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; ++i) {
+            dependencies[i] = dependency(parameterClasses[i], parameterTypes[i], annotations[i]);
+        }
+        return dependencies;
+    }
+
+    static Dependency dependency(Class<?> parameterClass, Type parameterType, Annotation[] annotations) {
+        Annotation qualifier = qualifier(annotations);
+        Dependency.Kind kind = parameterClass == Provider.class ? Dependency.Kind.PROVIDER
+                : parameterClass == Lazy.class ? Dependency.Kind.LAZY
+                : parameterClass == AsyncProvider.class ? Dependency.Kind.ASYNC_PROVIDER
+                : parameterClass == CompletableFuture.class ? Dependency.Kind.FUTURE
+                : parameterClass == ObjectPool.class ? Dependency.Kind.POOL
+                : Dependency.Kind.INSTANCE;
+        if (kind != Dependency.Kind.INSTANCE) {
+            Type provided = ((ParameterizedType) parameterType).getActualTypeArguments()[0];
+            return Dependency.of(Key.of(Key.erase(provided), provided, qualifier), kind);
+        }
+        return Dependency.of(Key.of(parameterClass, parameterType, qualifier));
     }
 
-    private String chain(Set<Key<?>> chain, Key<?> lastKey) {
+    private Provider<?>[] paramProviders(Dependency[] dependencies) {
+        Provider<?>[] providers = new Provider<?>[dependencies.length];
+        for (int i = 0; i < dependencies.length; ++i) {
+            providers[i] = new Link(dependencies[i].getKey(), dependencies[i].getKind());
+        }
+        return providers;
+    }
+
+    private String chain(List<Key<?>> chain) {
         StringBuilder chainString = new StringBuilder();
         for (Key<?> key : chain) {
-            chainString.append(key.toString()).append(" -> ");
+            if (chainString.length() > 0) {
+                chainString.append(" -> ");
+            }
+            chainString.append(key.toString());
         }
-        return chainString.append(lastKey.toString()).toString();
+        return chainString.toString();
     }
 
     private Constructor<?> constructor(Key<?> key) {
+        Constructor<?> indexed = classpathIndex != null ? classpathIndex.constructor(key.getType()) : null;
+        if (indexed != null) {
+            return indexed;
+        }
         Constructor<?> inject = null;
         Constructor<?> noarg = null;
         for (Constructor<?> c : key.getType().getDeclaredConstructors()) {
@@ -249,22 +835,7 @@ public final class EasyInjectorImpl implements EasyInjector {
         }
     }
 
-    private Set<Method> providers(Class<?> type) {
-        Class<?> current = type;
-        Set<Method> providers = new HashSet<>();
-        while (!current.equals(Object.class)) {
-            for (Method method : current.getDeclaredMethods()) {
-                if (method.isAnnotationPresent(Provides.class) && (type.equals(current) || !providerInSubClass(method, providers))) {
-                    method.setAccessible(true);
-                    providers.add(method);
-                }
-            }
-            current = current.getSuperclass();
-        }
-        return providers;
-    }
-
-    private Annotation qualifier(Annotation[] annotations) {
+    static Annotation qualifier(Annotation[] annotations) {
         for (Annotation annotation : annotations) {
             if (annotation.annotationType().isAnnotationPresent(Qualifier.class)) {
                 return annotation;
@@ -273,13 +844,77 @@ public final class EasyInjectorImpl implements EasyInjector {
         return null;
     }
 
-    private boolean providerInSubClass(Method method, Set<Method> discoveredMethods) {
-        for (Method discovered : discoveredMethods) {
-            if (discovered.getName().equals(method.getName()) && Arrays.equals(method.getParameterTypes(), discovered.getParameterTypes())) {
-                return true;
+    /**
+     * @return the value injected for a deferred dependency of the given kind on provider
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object value(Dependency.Kind kind, Provider<?> provider) {
+        switch (kind) {
+            case PROVIDER:
+                return provider;
+            case LAZY:
+                return new LazyValue<>(provider);
+            case ASYNC_PROVIDER:
+                return (AsyncProvider) () -> CompletableFuture.supplyAsync(provider::get, asyncExecutor);
+            case FUTURE:
+                return CompletableFuture.supplyAsync(provider::get, asyncExecutor);
+            case POOL:
+                return provider;
+            default:
+                return provider.get();
+        }
+    }
+
+    /**
+     * Dependency edge of a binding, resolved to the target provider on first use and reused
+     * until the registered modules of this injector or an ancestor change
+     */
+    private final class Link implements Provider<Object> {
+        private final Key<?> key;
+        private final Dependency.Kind kind;
+        private volatile Resolved target;
+
+        private Link(Key<?> key, Dependency.Kind kind) {
+            this.key = key;
+            this.kind = kind;
+        }
+
+        @Override
+        public Object get() {
+            Resolved resolved = target;
+            long generation = generation();
+            if (resolved == null || resolved.generation != generation) {
+                resolved = new Resolved(kind == Dependency.Kind.POOL ? pool(key) : provider(key), generation);
+                target = resolved;
             }
+            return kind == Dependency.Kind.INSTANCE ? resolved.provider.get() : value(kind, resolved.provider);
+        }
+    }
+
+    /**
+     * Provider a link resolved to, with the generation it was resolved at; published as one object
+     * so a reader never pairs a generation with the provider of another one
+     */
+    private static final class Resolved {
+        private final Provider<?> provider;
+        private final long generation;
+
+        private Resolved(Provider<?> provider, long generation) {
+            this.provider = provider;
+            this.generation = generation;
         }
-        return false;
     }
 
-}
\ No newline at end of file
+    /**
+     * Binding of the parent shared by a child injector, valid while the generation is unchanged
+     */
+    private static final class Inherited {
+        private final Binding<?> binding;
+        private final long generation;
+
+        private Inherited(Binding<?> binding, long generation) {
+            this.binding = binding;
+            this.generation = generation;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package xyz.juliandev.easy.injector;
 
 public class EasyInjectorRuntimeException extends RuntimeException{
+    private static final long serialVersionUID = 1L;
+
     EasyInjectorRuntimeException(String message) {
         super(message);
     }
@@ -0,0 +1,84 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Periodic eviction of scoped instances on a single shared daemon thread, off the callers' path.
+ * Tasks only hold their target weakly and stop once it has been collected or its injector is closed.
+ */
+final class Eviction {
+
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "easyinject-eviction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Eviction() {}
+
+    /**
+     * Runs evict on target every periodNanos until target is garbage collected or the returned task is cancelled
+     */
+    static <T> Future<?> schedule(T target, long periodNanos, Consumer<T> evict) {
+        WeakReference<T> reference = new WeakReference<>(target);
+        ScheduledFuture<?>[] future = new ScheduledFuture<?>[1];
+        synchronized (future) {
+            future[0] = EXECUTOR.scheduleWithFixedDelay(() -> {
+                T current = reference.get();
+                if (current != null) {
+                    evict.accept(current);
+                } else {
+                    synchronized (future) {
+                        future[0].cancel(false);
+                    }
+                }
+            }, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+            return future[0];
+        }
+    }
+
+    /**
+     * Cancels the eviction of provider if it has any
+     */
+    static void cancel(Provider<?> provider) {
+        if (provider instanceof Scheduled) {
+            ((Scheduled) provider).cancel();
+        }
+    }
+
+    /**
+     * Runs task once on the eviction thread
+     */
+    static void submit(Runnable task) {
+        EXECUTOR.execute(task);
+    }
+
+    /**
+     * Scoped provider evicting its instances on the eviction thread
+     */
+    interface Scheduled {
+        /**
+         * Stops evicting and drops the instances held
+         */
+        void cancel();
+    }
+
+    /**
+     * Closes instance if it is AutoCloseable, failures are ignored as nobody waits for evicted instances
+     */
+    static void discard(Object instance) {
+        if (instance instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) instance).close();
+            } catch (Exception e) {
+                // Evicted instance failed to close
+            }
+        }
+    }
+}
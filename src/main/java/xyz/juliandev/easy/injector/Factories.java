@@ -0,0 +1,153 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Builds direct-call factories for constructors and provider methods.
+ * A factory calls reflectively at first and switches to a method handle after {@link #PROMOTE_AFTER} calls,
+ * so bindings that run once or never, like most singletons, don't pay for building a handle.
+ * Handles of up to {@link #MAX_ARITY} parameters are invoked with the provided values directly,
+ * so creating an instance allocates nothing but the instance itself.
+ */
+final class Factories {
+
+    static final int MAX_ARITY = 6;
+    static final int PROMOTE_AFTER = 8;
+
+    private static final Object[] NO_ARGS = new Object[0];
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private Factories() {}
+
+    /**
+     * @return factory calling the given (accessible) constructor
+     */
+    static Factory constructor(Constructor<?> constructor) {
+        return new Promoting(params -> unwrap(() -> constructor.newInstance(values(params))),
+                () -> invoker(LOOKUP.unreflectConstructor(constructor), constructor.getParameterCount()));
+    }
+
+    /**
+     * @return factory calling a build-time generated factory
+     */
+    static Factory generated(GeneratedFactory<?> generated) {
+        return params -> generated.create(values(params));
+    }
+
+    /**
+     * @return factory calling the given (accessible) method on module
+     */
+    static Factory method(Method method, Object module) {
+        return new Promoting(params -> unwrap(() -> method.invoke(module, values(params))), () -> {
+            MethodHandle handle = LOOKUP.unreflect(method);
+            return invoker(Modifier.isStatic(method.getModifiers()) ? handle : handle.bindTo(module), method.getParameterCount());
+        });
+    }
+
+    /**
+     * @return factory invoking handle with one argument per parameter provider, spreading an array beyond MAX_ARITY
+     */
+    private static Factory invoker(MethodHandle handle, int arity) {
+        handle = handle.asFixedArity();
+        if (arity > MAX_ARITY) {
+            MethodHandle spreader = handle.asSpreader(Object[].class, arity)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return params -> (Object) spreader.invokeExact(values(params));
+        }
+        MethodHandle h = handle.asType(MethodType.genericMethodType(arity));
+        switch (arity) {
+            case 0:
+                return params -> (Object) h.invokeExact();
+            case 1:
+                return params -> (Object) h.invokeExact((Object) params[0].get());
+            case 2:
+                return params -> (Object) h.invokeExact((Object) params[0].get(), (Object) params[1].get());
+            case 3:
+                return params -> (Object) h.invokeExact((Object) params[0].get(), (Object) params[1].get(), (Object) params[2].get());
+            case 4:
+                return params -> (Object) h.invokeExact((Object) params[0].get(), (Object) params[1].get(), (Object) params[2].get(),
+                        (Object) params[3].get());
+            case 5:
+                return params -> (Object) h.invokeExact((Object) params[0].get(), (Object) params[1].get(), (Object) params[2].get(),
+                        (Object) params[3].get(), (Object) params[4].get());
+            default:
+                return params -> (Object) h.invokeExact((Object) params[0].get(), (Object) params[1].get(), (Object) params[2].get(),
+                        (Object) params[3].get(), (Object) params[4].get(), (Object) params[5].get());
+        }
+    }
+
+    /**
+     * @return the values of the parameter providers, for factories that need an argument array
+     */
+    private static Object[] values(Provider<?>[] params) {
+        if (params.length == 0) {
+            return NO_ARGS;
+        }
+        Object[] values = new Object[params.length];
+        for (int i = 0; i < params.length; ++i) {
+            values[i] = params[i].get();
+        }
+        return values;
+    }
+
+    private static Object unwrap(ReflectiveCall call) throws Throwable {
+        try {
+            return call.call();
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface ReflectiveCall {
+        Object call() throws ReflectiveOperationException;
+    }
+
+    private interface HandleFactory {
+        Factory create() throws IllegalAccessException;
+    }
+
+    /**
+     * Factory calling reflectively until it has been used PROMOTE_AFTER times, then through a method handle.
+     * The call count is racy on purpose, promoting a little later under contention is harmless.
+     */
+    private static final class Promoting implements Factory {
+        private final Factory reflective;
+        private HandleFactory direct;
+        private volatile Factory promoted;
+        private int calls;
+
+        private Promoting(Factory reflective, HandleFactory direct) {
+            this.reflective = reflective;
+            this.direct = direct;
+        }
+
+        @Override
+        public Object create(Provider<?>[] params) throws Throwable {
+            Factory factory = promoted;
+            if (factory == null) {
+                factory = ++calls < PROMOTE_AFTER ? reflective : promote();
+            }
+            return factory.create(params);
+        }
+
+        private synchronized Factory promote() {
+            if (promoted == null) {
+                Factory factory;
+                try {
+                    factory = direct.create();
+                } catch (IllegalAccessException | RuntimeException e) {
+                    factory = reflective;
+                }
+                direct = null;
+                promoted = factory;
+            }
+            return promoted;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Creates instances for a single binding, taking the arguments straight from the linked parameter providers
+ */
+interface Factory {
+
+    Object create(Provider<?>[] params) throws Throwable;
+
+}
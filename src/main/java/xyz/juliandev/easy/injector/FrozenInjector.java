@@ -0,0 +1,138 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Immutable injector serving a validated binding graph whose providers are linked straight to each other.
+ * Providers are stored in an open-addressed table sized for this graph and probed by {@link Key#id()},
+ * lookups are usually a single array load. Keys outside the frozen graph are rejected instead of being bound just in time.
+ */
+final class FrozenInjector implements EasyInjector {
+
+    private final EasyInjectorImpl source;
+    private final Key<?>[] keys;
+    private final Provider<?>[] providers;
+    private final int mask;
+    private final Provider<?>[] scoped;
+
+    /**
+     * @param scoped the scope handlers' providers of the graph, their eviction stops when this injector is closed
+     */
+    FrozenInjector(EasyInjectorImpl source, List<Key<?>> keys, Provider<?>[] providers, Provider<?>[] scoped) {
+        this.source = source;
+        this.scoped = scoped;
+        int capacity = Integer.highestOneBit(Math.max(2, keys.size()) * 2 - 1) << 1;
+        this.keys = new Key<?>[capacity];
+        this.providers = new Provider<?>[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < providers.length; ++i) {
+            int slot = keys.get(i).id() & mask;
+            while (this.keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            this.keys[slot] = keys.get(i);
+            this.providers[slot] = providers[i];
+        }
+    }
+
+    @Override
+    public <T> T getInstance(Class<T> type) {
+        return provider(Key.of(type)).get();
+    }
+
+    @Override
+    public <T> T getInstance(Key<T> key) {
+        return provider(key).get();
+    }
+
+    @Override
+    public <T> Provider<T> getProvider(Class<T> type) {
+        return provider(Key.of(type));
+    }
+
+    @Override
+    public <T> Provider<T> getProvider(Key<T> key) {
+        return provider(key);
+    }
+
+    /**
+     * Injects fields through the source injector, field targets aren't part of the frozen graph
+     */
+    @Override
+    public boolean injectObjectFields(Object target) {
+        return source.injectObjectFields(target);
+    }
+
+    @Override
+    public boolean injectObjectFields(Collection<?> targets) {
+        return source.injectObjectFields(targets);
+    }
+
+    @Override
+    public void addDynamicModule(AbstractModule abstractModule) {
+        throw new EasyInjectorRuntimeException("Can't add modules to a frozen injector");
+    }
+
+    @Override
+    public void replaceModule(AbstractModule oldModule, AbstractModule newModule) {
+        throw new EasyInjectorRuntimeException("Can't replace modules of a frozen injector");
+    }
+
+    @Override
+    public void removeModule(AbstractModule abstractModule) {
+        throw new EasyInjectorRuntimeException("Can't remove modules of a frozen injector");
+    }
+
+    /**
+     * Creates the child from the source injector, the child isn't frozen
+     */
+    @Override
+    public EasyInjector createChildInjector(AbstractModule... modules) {
+        return source.createChildInjector(modules);
+    }
+
+    @Override
+    public void warmUp() {
+        source.warmUp();
+    }
+
+    @Override
+    public void warmUp(Executor executor) {
+        source.warmUp(executor);
+    }
+
+    @Override
+    public void validate() {
+        source.validate();
+    }
+
+    @Override
+    public void close() {
+        source.close();
+        for (Provider<?> provider : scoped) {
+            Eviction.cancel(provider);
+        }
+    }
+
+    @Override
+    public EasyInjector freeze(Class<?>... roots) {
+        for (Class<?> root : roots) {
+            provider(Key.of(root));
+        }
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> Provider<T> provider(Key<T> key) {
+        for (int slot = key.id() & mask; keys[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot].equals(key)) {
+                return (Provider<T>) providers[slot];
+            }
+        }
+        throw new EasyInjectorRuntimeException(String.format("%s is not bound in the frozen injector", key));
+    }
+}
@@ -0,0 +1,115 @@
+package xyz.juliandev.easy.injector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * Looks up classes generated by the EasyInject annotation processor.
+ * Only classes listed in a {@value #LIST} resource of the type's loader are loaded, so applications built
+ * without the processor never pay for failed class lookups. Lookups are cached per type, a missing class means
+ * the reflective path is used.
+ */
+final class Generated {
+
+    static final String LIST = "META-INF/easyinject/generated";
+
+    /**
+     * Listed generated class names by loader, the names don't keep a loader alive
+     */
+    private static final Map<ClassLoader, Set<String>> LISTED = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private static final ClassValue<GeneratedFactory<?>> FACTORIES = new ClassValue<>() {
+        @Override
+        protected GeneratedFactory<?> computeValue(Class<?> type) {
+            return (GeneratedFactory<?>) load(type, GeneratedFactory.SUFFIX);
+        }
+    };
+
+    private static final ClassValue<GeneratedMembersInjector<?>> MEMBERS_INJECTORS = new ClassValue<>() {
+        @Override
+        protected GeneratedMembersInjector<?> computeValue(Class<?> type) {
+            return (GeneratedMembersInjector<?>) load(type, GeneratedMembersInjector.SUFFIX);
+        }
+    };
+
+    private Generated() {}
+
+    /**
+     * @return generated factory of type or null
+     */
+    static GeneratedFactory<?> factory(Class<?> type) {
+        return FACTORIES.get(type);
+    }
+
+    /**
+     * @return generated members injector of type or null
+     */
+    static GeneratedMembersInjector<?> membersInjector(Class<?> type) {
+        return MEMBERS_INJECTORS.get(type);
+    }
+
+    /**
+     * @return generated class name for type, nested class names are joined by '_' and '_' itself is escaped as "_1".
+     * Names of nested classes can't start with a digit, so the mapping is unambiguous.
+     */
+    static String name(Class<?> type, String suffix) {
+        String packageName = type.getPackageName();
+        String simpleName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+        return (packageName.isEmpty() ? "" : packageName + ".") + simpleName.replace("_", "_1").replace('$', '_') + suffix;
+    }
+
+    private static Object load(Class<?> type, String suffix) {
+        if (type.isPrimitive() || type.isArray() || type.isLocalClass() || type.isAnonymousClass() || type.getClassLoader() == null) {
+            return null;
+        }
+        String name = name(type, suffix);
+        if (!listed(type.getClassLoader()).contains(name)) {
+            return null;
+        }
+        try {
+            Class<?> generated = Class.forName(name, true, type.getClassLoader());
+            return generated.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException e) {
+            throw new EasyInjectorRuntimeException(String.format("Can't load generated %s for %s", suffix, type.getName()), e);
+        }
+    }
+
+    /**
+     * @return the generated class names listed in every {@value #LIST} visible to loader
+     */
+    private static Set<String> listed(ClassLoader loader) {
+        Set<String> names = LISTED.get(loader);
+        if (names != null) {
+            return names;
+        }
+        names = new HashSet<>();
+        try {
+            Enumeration<URL> resources = loader.getResources(LIST);
+            while (resources.hasMoreElements()) {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resources.nextElement().openStream(), StandardCharsets.UTF_8))) {
+                    for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                        line = line.trim();
+                        if (!line.isEmpty() && !line.startsWith("#")) {
+                            names.add(line);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new EasyInjectorRuntimeException(String.format("Can't read %s", LIST), e);
+        }
+        LISTED.put(loader, names);
+        return names;
+    }
+}
@@ -0,0 +1,21 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Factory generated at build time by the EasyInject annotation processor.
+ * Named {@code <Type>_EasyFactory} and placed in the package of the type it creates.
+ */
+public interface GeneratedFactory<T> {
+
+    String SUFFIX = "_EasyFactory";
+
+    /**
+     * @return constructor dependencies, in parameter order
+     */
+    Dependency[] dependencies();
+
+    /**
+     * @return a new instance created from arguments matching {@link #dependencies()}
+     */
+    T create(Object[] args);
+
+}
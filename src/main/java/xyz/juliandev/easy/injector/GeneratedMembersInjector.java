@@ -0,0 +1,21 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Field injector generated at build time by the EasyInject annotation processor.
+ * Named {@code <Type>_EasyMembersInjector} and placed in the package of the type it injects.
+ */
+public interface GeneratedMembersInjector<T> {
+
+    String SUFFIX = "_EasyMembersInjector";
+
+    /**
+     * @return field dependencies, in injection order
+     */
+    Dependency[] dependencies();
+
+    /**
+     * Assigns values matching {@link #dependencies()} to the fields of target
+     */
+    void inject(T target, Object[] values);
+
+}
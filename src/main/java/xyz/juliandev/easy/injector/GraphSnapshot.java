@@ -0,0 +1,396 @@
+package xyz.juliandev.easy.injector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Binary snapshot of a binding graph: the provider methods of each module class and the constructors of
+ * just-in-time bindings, with their keys, scopes and dependencies. An injector created from a snapshot
+ * looks members up by signature instead of scanning classes and annotations.
+ * A snapshot lists the classes it refers to with a hash of their class files; it is ignored when one of them
+ * changed, or when it is unreadable. Classes outside the graph don't affect it.
+ */
+final class GraphSnapshot {
+
+    private static final int MAGIC = 0x455A4753;
+    private static final int VERSION = 4;
+
+    private static final byte NONE = 0;
+    private static final byte SET = 1;
+    private static final byte MAP = 2;
+
+    private static final Map<String, Class<?>> PRIMITIVES = Map.of(
+            "boolean", boolean.class, "byte", byte.class, "char", char.class, "short", short.class,
+            "int", int.class, "long", long.class, "float", float.class, "double", double.class, "void", void.class
+    );
+
+    private final Map<Class<?>, List<ModuleScan.Provision>> provisions;
+    private final Map<Key<?>, Entry> constructors;
+
+    private GraphSnapshot(Map<Class<?>, List<ModuleScan.Provision>> provisions, Map<Key<?>, Entry> constructors) {
+        this.provisions = provisions;
+        this.constructors = constructors;
+    }
+
+    /**
+     * @return provider methods of moduleClass, or null if the snapshot doesn't contain it
+     */
+    List<ModuleScan.Provision> provisions(Class<?> moduleClass) {
+        return provisions.get(moduleClass);
+    }
+
+    /**
+     * @return constructor entry of a just-in-time binding, or null if the snapshot doesn't contain key
+     */
+    Entry constructor(Key<?> key) {
+        return constructors.get(key);
+    }
+
+    /**
+     * @return the snapshot stored at path, or null if it is missing, unreadable or was written for another classpath
+     */
+    static GraphSnapshot read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return null;
+            }
+            Reader reader = new Reader(buffer);
+            List<String> classes = new ArrayList<>();
+            for (int count = buffer.getInt(); count > 0; --count) {
+                classes.add(reader.string());
+            }
+            if (buffer.getLong() != classesHash(classes, reader.loader)) {
+                return null;
+            }
+            Map<Class<?>, List<ModuleScan.Provision>> provisions = new HashMap<>();
+            for (int modules = buffer.getInt(); modules > 0; --modules) {
+                Class<?> moduleClass = reader.type();
+                ModuleScan.Provision[] methods = new ModuleScan.Provision[buffer.getInt()];
+                for (int i = 0; i < methods.length; ++i) {
+                    Class<?> declaring = reader.type();
+                    String name = reader.string();
+                    Method method = declaring.getDeclaredMethod(name, reader.types());
+                    Key<?> key = reader.key();
+                    Dependency[] dependencies = reader.dependencies();
+                    Class<? extends Annotation> scope = reader.scope();
+                    byte contribution = buffer.get();
+                    Key<?> collection = contribution == SET ? Multibindings.setKey(key) : contribution == MAP ? Multibindings.mapKey(key) : null;
+                    methods[i] = new ModuleScan.Provision(method, key, dependencies, scope, collection, reader.string());
+                }
+                provisions.put(moduleClass, List.of(methods));
+            }
+            Map<Key<?>, Entry> constructors = new HashMap<>();
+            for (int count = buffer.getInt(); count > 0; --count) {
+                Key<?> key = reader.key();
+                Constructor<?> constructor = key.getType().getDeclaredConstructor(reader.types());
+                constructor.setAccessible(true);
+                constructors.put(key, new Entry(constructor, reader.dependencies(), reader.scope()));
+            }
+            return new GraphSnapshot(provisions, constructors);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | ReflectiveOperationException | RuntimeException | LinkageError e) {
+            // Truncated or corrupt file, or members that changed since it was written
+            return null;
+        }
+    }
+
+    /**
+     * Writes the provider methods of moduleClasses and the constructor bindings among bindings to path,
+     * replacing an existing snapshot atomically where the file system allows it
+     */
+    static void write(Path path, Collection<Class<?>> moduleClasses, Collection<Binding<?>> bindings) throws IOException {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        Writer writer = new Writer(new DataOutputStream(body));
+        DataOutputStream out = writer.out;
+        out.writeInt(moduleClasses.size());
+        for (Class<?> moduleClass : moduleClasses) {
+            List<ModuleScan.Provision> provisions = ModuleScan.of(moduleClass).provisions();
+            writer.type(moduleClass);
+            // Provider methods added to a superclass change the module without changing its class file
+            for (Class<?> superclass = moduleClass.getSuperclass(); superclass != null; superclass = superclass.getSuperclass()) {
+                writer.classes.add(superclass.getName());
+            }
+            out.writeInt(provisions.size());
+            for (ModuleScan.Provision provision : provisions) {
+                writer.type(provision.method.getDeclaringClass());
+                writer.string(provision.method.getName());
+                writer.types(provision.method.getParameterTypes());
+                writer.key(provision.key);
+                writer.dependencies(provision.dependencies);
+                writer.scope(provision.scope);
+                out.writeByte(provision.collection == null ? NONE : provision.collection.getType() == Map.class ? MAP : SET);
+                writer.string(provision.mapKey);
+            }
+        }
+        int count = 0;
+        for (Binding<?> binding : bindings) {
+            if (binding.getSource() instanceof Constructor) {
+                count++;
+            }
+        }
+        out.writeInt(count);
+        for (Binding<?> binding : bindings) {
+            Executable source = binding.getSource();
+            if (source instanceof Constructor) {
+                writer.key(binding.getKey());
+                writer.types(source.getParameterTypes());
+                writer.dependencies(binding.getDependencies());
+                writer.scope(binding.getScope());
+            }
+        }
+        out.flush();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Writer header = new Writer(new DataOutputStream(bytes));
+        header.out.writeInt(MAGIC);
+        header.out.writeInt(VERSION);
+        header.out.writeInt(writer.classes.size());
+        for (String name : writer.classes) {
+            header.string(name);
+        }
+        header.out.writeLong(classesHash(writer.classes, loader()));
+        body.writeTo(header.out);
+        header.out.flush();
+
+        Path absolute = path.toAbsolutePath();
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * @return hash of the class files of the named classes as loader finds them: the size and modification time of
+     * a class file in a directory, of the whole jar for a class in a jar. Runtime image classes count by location only.
+     */
+    static long classesHash(Collection<String> names, ClassLoader loader) {
+        Map<String, Long> jars = new HashMap<>();
+        long hash = VERSION;
+        for (String name : names) {
+            URL resource = loader.getResource(name.replace('.', '/') + ".class");
+            hash = 31 * hash + name.hashCode();
+            hash = 31 * hash + (resource != null ? stamp(resource, jars) : -1);
+        }
+        return hash;
+    }
+
+    /**
+     * @return hash of the file holding a class file, jars are looked at once per call
+     */
+    private static long stamp(URL resource, Map<String, Long> jars) {
+        try {
+            if (resource.getProtocol().equals("file")) {
+                return fileStamp(Path.of(resource.toURI()));
+            }
+            if (resource.getProtocol().equals("jar")) {
+                String file = resource.getPath();
+                String jar = file.substring(0, Math.max(file.indexOf("!/"), 0));
+                Long stamp = jars.get(jar);
+                if (stamp == null) {
+                    stamp = fileStamp(Path.of(new URI(jar)));
+                    jars.put(jar, stamp);
+                }
+                return stamp;
+            }
+        } catch (IOException | URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return -1;
+        }
+        return resource.toString().hashCode();
+    }
+
+    private static long fileStamp(Path file) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        return mix(31 * attributes.size() + attributes.lastModifiedTime().toMillis());
+    }
+
+    /**
+     * @return the loader classes of a snapshot are resolved with
+     */
+    private static ClassLoader loader() {
+        ClassLoader context = Thread.currentThread().getContextClassLoader();
+        return context != null ? context : GraphSnapshot.class.getClassLoader();
+    }
+
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+
+    /**
+     * Constructor of a just-in-time binding with its dependencies and scope
+     */
+    static final class Entry {
+        final Constructor<?> constructor;
+        final Dependency[] dependencies;
+        final Class<? extends Annotation> scope;
+
+        private Entry(Constructor<?> constructor, Dependency[] dependencies, Class<? extends Annotation> scope) {
+            this.constructor = constructor;
+            this.dependencies = dependencies;
+            this.scope = scope;
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private final ClassLoader loader;
+
+        private Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.loader = loader();
+        }
+
+        private String string() {
+            int length = buffer.getInt();
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private Class<?> type() throws ClassNotFoundException {
+            String name = string();
+            Class<?> primitive = PRIMITIVES.get(name);
+            return primitive != null ? primitive : Class.forName(name, false, loader);
+        }
+
+        private Class<?>[] types() throws ClassNotFoundException {
+            Class<?>[] types = new Class<?>[buffer.getInt()];
+            for (int i = 0; i < types.length; ++i) {
+                types[i] = type();
+            }
+            return types;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Key<?> key() throws ClassNotFoundException {
+            Class<?> type = type();
+            Class<?>[] arguments = types();
+            String qualifier = string();
+            String name = string();
+            return Key.of(type, arguments, qualifier != null ? (Class<? extends Annotation>) Class.forName(qualifier, false, loader) : null, name);
+        }
+
+        private Dependency[] dependencies() throws ClassNotFoundException {
+            Dependency[] dependencies = new Dependency[buffer.getInt()];
+            for (int i = 0; i < dependencies.length; ++i) {
+                Dependency.Kind kind = Dependency.kind(buffer.get());
+                dependencies[i] = Dependency.of(key(), kind);
+            }
+            return dependencies;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Class<? extends Annotation> scope() throws ClassNotFoundException {
+            String scope = string();
+            return scope != null ? (Class<? extends Annotation>) Class.forName(scope, false, loader) : null;
+        }
+    }
+
+    private static final class Writer {
+        private final DataOutputStream out;
+        /**
+         * Names of the classes written, in a stable order
+         */
+        private final Set<String> classes = new TreeSet<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void string(String value) throws IOException {
+            if (value == null) {
+                out.writeInt(-1);
+            } else {
+                byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private void type(Class<?> type) throws IOException {
+            string(type.getName());
+            Class<?> element = type;
+            while (element.isArray()) {
+                element = element.getComponentType();
+            }
+            if (!element.isPrimitive()) {
+                classes.add(element.getName());
+            }
+        }
+
+        private void types(Class<?>[] types) throws IOException {
+            out.writeInt(types.length);
+            for (Class<?> type : types) {
+                type(type);
+            }
+        }
+
+        private void key(Key<?> key) throws IOException {
+            type(key.getType());
+            types(key.arguments());
+            if (key.qualifier() != null) {
+                type(key.qualifier());
+            } else {
+                string(null);
+            }
+            string(key.name());
+        }
+
+        private void dependencies(Dependency[] dependencies) throws IOException {
+            out.writeInt(dependencies.length);
+            for (Dependency dependency : dependencies) {
+                out.writeByte(dependency.getKind().ordinal());
+                key(dependency.getKey());
+            }
+        }
+
+        private void scope(Class<? extends Annotation> scope) throws IOException {
+            if (scope != null) {
+                type(scope);
+            } else {
+                string(null);
+            }
+        }
+    }
+}
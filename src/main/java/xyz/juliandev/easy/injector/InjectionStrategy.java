@@ -0,0 +1,69 @@
+package xyz.juliandev.easy.injector;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Decides how field injection work is run: the fields of one object, or the objects of a batch.
+ */
+public interface InjectionStrategy {
+
+    /**
+     * Runs task for every index in [0, count)
+     *
+     * @return true if every task returned true
+     */
+    boolean run(int count, IntPredicate task);
+
+    /**
+     * @return strategy running all tasks on the calling thread, in order
+     */
+    static InjectionStrategy sequential() {
+        return InjectionStrategy::runSequential;
+    }
+
+    /**
+     * @return strategy running tasks on the common pool once there are at least threshold of them
+     */
+    static InjectionStrategy parallel(int threshold) {
+        return (count, task) -> count < threshold ?
+                runSequential(count, task) :
+                IntStream.range(0, count).parallel().mapToObj(task::test).reduce(true, Boolean::logicalAnd);
+    }
+
+    /**
+     * @return strategy running tasks on executor once there are at least threshold of them
+     */
+    static InjectionStrategy executor(Executor executor, int threshold) {
+        return (count, task) -> {
+            if (count < threshold) {
+                return runSequential(count, task);
+            }
+            CompletableFuture<?>[] results = new CompletableFuture<?>[count];
+            for (int i = 0; i < count; ++i) {
+                int index = i;
+                results[i] = CompletableFuture.supplyAsync(() -> task.test(index), executor);
+            }
+            boolean all = true;
+            try {
+                for (CompletableFuture<?> result : results) {
+                    all &= (Boolean) result.join();
+                }
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+            return all;
+        };
+    }
+
+    private static boolean runSequential(int count, IntPredicate task) {
+        boolean all = true;
+        for (int i = 0; i < count; ++i) {
+            all &= task.test(i);
+        }
+        return all;
+    }
+}
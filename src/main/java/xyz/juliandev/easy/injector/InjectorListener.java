@@ -0,0 +1,39 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Receives instrumentation events of an injector. Registered with {@link InjectorOptions#listener},
+ * events are only reported when the JVM runs with {@code -Dxyz.juliandev.easy.instrumentation=true};
+ * otherwise the injector doesn't install any instrumentation at all.
+ * <p>
+ * Methods are called on the thread doing the work and should return quickly.
+ */
+public interface InjectorListener {
+
+    /**
+     * A binding was created, from a module or just in time
+     */
+    default void bindingCreated(Key<?> key, boolean justInTime) {}
+
+    /**
+     * Reflective discovery of a constructor (for a just-in-time binding) or of a module's @Provides methods took nanos
+     */
+    default void reflected(Class<?> type, long nanos) {}
+
+    /**
+     * A new instance of key was constructed, scope is null for unscoped bindings
+     */
+    default void instanceConstructed(Key<?> key, Class<? extends Annotation> scope, long nanos) {}
+
+    /**
+     * An instance of key was provided (getInstance, Provider.get or a dependency), including construction if any
+     */
+    default void instanceProvided(Key<?> key, long nanos) {}
+
+    /**
+     * Fields of an instance of type were injected
+     */
+    default void fieldsInjected(Class<?> type, long nanos) {}
+
+}
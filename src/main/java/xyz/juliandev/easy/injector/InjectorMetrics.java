@@ -0,0 +1,128 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Singleton;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener aggregating injector events into counters and latency histograms.
+ * Histograms have power-of-two nanosecond buckets: bucket i counts durations in [2^(i-1), 2^i).
+ */
+public final class InjectorMetrics implements InjectorListener {
+
+    private final Map<Key<?>, Stats> provisions = new ConcurrentHashMap<>();
+    private final Map<Key<?>, Stats> constructions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Stats> reflection = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Stats> fieldInjections = new ConcurrentHashMap<>();
+    private final Map<Key<?>, Long> singletons = new ConcurrentHashMap<>();
+    private final LongAdder justInTimeBindings = new LongAdder();
+
+    @Override
+    public void bindingCreated(Key<?> key, boolean justInTime) {
+        if (justInTime) {
+            justInTimeBindings.increment();
+        }
+    }
+
+    @Override
+    public void reflected(Class<?> type, long nanos) {
+        reflection.computeIfAbsent(type, t -> new Stats()).record(nanos);
+    }
+
+    @Override
+    public void instanceConstructed(Key<?> key, Class<? extends Annotation> scope, long nanos) {
+        constructions.computeIfAbsent(key, k -> new Stats()).record(nanos);
+        if (scope == Singleton.class) {
+            singletons.put(key, nanos);
+        }
+    }
+
+    @Override
+    public void instanceProvided(Key<?> key, long nanos) {
+        Stats stats = provisions.get(key);
+        (stats != null ? stats : provisions.computeIfAbsent(key, k -> new Stats())).record(nanos);
+    }
+
+    @Override
+    public void fieldsInjected(Class<?> type, long nanos) {
+        fieldInjections.computeIfAbsent(type, t -> new Stats()).record(nanos);
+    }
+
+    /**
+     * @return provision stats per key (getInstance, Provider.get and dependency lookups)
+     */
+    public Map<Key<?>, Stats> getProvisions() {
+        return Collections.unmodifiableMap(provisions);
+    }
+
+    /**
+     * @return construction stats per key
+     */
+    public Map<Key<?>, Stats> getConstructions() {
+        return Collections.unmodifiableMap(constructions);
+    }
+
+    /**
+     * @return reflective discovery stats per constructed type or module class
+     */
+    public Map<Class<?>, Stats> getReflection() {
+        return Collections.unmodifiableMap(reflection);
+    }
+
+    /**
+     * @return injectObjectFields stats per target class
+     */
+    public Map<Class<?>, Stats> getFieldInjections() {
+        return Collections.unmodifiableMap(fieldInjections);
+    }
+
+    /**
+     * @return construction time in nanos of every created singleton
+     */
+    public Map<Key<?>, Long> getSingletonConstructionNanos() {
+        return Collections.unmodifiableMap(singletons);
+    }
+
+    public long getJustInTimeBindings() {
+        return justInTimeBindings.sum();
+    }
+
+    /**
+     * Count, total time and latency histogram of one kind of event
+     */
+    public static final class Stats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLongArray histogram = new AtomicLongArray(64);
+
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            histogram.incrementAndGet(Math.min(63, 64 - Long.numberOfLeadingZeros(Math.max(nanos, 0))));
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTotalNanos() {
+            return totalNanos.sum();
+        }
+
+        /**
+         * @return copy of the histogram, index i counts durations in [2^(i-1), 2^i) nanos
+         */
+        public long[] getHistogram() {
+            long[] copy = new long[histogram.length()];
+            for (int i = 0; i < copy.length; ++i) {
+                copy[i] = histogram.get(i);
+            }
+            return copy;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Cached;
+import xyz.juliandev.easy.annotations.Pooled;
+import xyz.juliandev.easy.annotations.RequestScoped;
+import xyz.juliandev.easy.annotations.Scope;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.annotations.ThreadScoped;
+
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Optional settings of an EasyInjector
+ */
+public final class InjectorOptions {
+
+    private InjectionStrategy injectionStrategy = InjectionStrategy.sequential();
+    private InjectorListener listener;
+    private Path snapshot;
+    private boolean validateOnCreate;
+    private Executor asyncExecutor = ForkJoinPool.commonPool();
+    private int closeParallelism = 8;
+    private Duration closeTimeout = Duration.ofSeconds(30);
+    private final Map<Class<? extends Annotation>, ScopeHandler> scopes = new HashMap<>(Map.of(
+            Singleton.class, Scopes.SINGLETON,
+            ThreadScoped.class, Scopes.THREAD,
+            RequestScoped.class, Scopes.REQUEST,
+            Pooled.class, Scopes.POOLED,
+            Cached.class, Scopes.cached()
+    ));
+
+    /**
+     * @return options with all defaults
+     */
+    public static InjectorOptions defaults() {
+        return new InjectorOptions();
+    }
+
+    /**
+     * Sets how fields are injected by {@link EasyInjector#injectObjectFields}, sequential by default
+     */
+    public InjectorOptions injectionStrategy(InjectionStrategy injectionStrategy) {
+        this.injectionStrategy = injectionStrategy;
+        return this;
+    }
+
+    /**
+     * Binds a scope annotation to its implementation. @Singleton, @ThreadScoped, @RequestScoped, @Pooled and @Cached are bound by default.
+     */
+    public InjectorOptions scope(Class<? extends Annotation> annotation, ScopeHandler handler) {
+        if (!annotation.isAnnotationPresent(Scope.class)) {
+            throw new EasyInjectorRuntimeException(String.format("%s is not annotated with @Scope", annotation.getName()));
+        }
+        scopes.put(annotation, handler);
+        return this;
+    }
+
+    /**
+     * Sets the listener receiving instrumentation events, only used when the JVM runs with
+     * {@code -Dxyz.juliandev.easy.instrumentation=true}
+     */
+    public InjectorOptions listener(InjectorListener listener) {
+        this.listener = listener;
+        return this;
+    }
+
+    /**
+     * Sets the graph snapshot file. The injector is created from it when it matches the classpath,
+     * otherwise it is (re)written after creation.
+     */
+    public InjectorOptions snapshot(Path snapshot) {
+        this.snapshot = snapshot;
+        return this;
+    }
+
+    /**
+     * Runs {@link EasyInjector#validate} when the injector is created, off by default
+     */
+    public InjectorOptions validateOnCreate(boolean validateOnCreate) {
+        this.validateOnCreate = validateOnCreate;
+        return this;
+    }
+
+    /**
+     * Sets the executor creating instances for {@link AsyncProvider} and CompletableFuture injection,
+     * the common pool by default. Slow, blocking construction is better served by a dedicated pool
+     * (or a virtual thread per task executor on Java 21+).
+     */
+    public InjectorOptions asyncExecutor(Executor asyncExecutor) {
+        this.asyncExecutor = asyncExecutor;
+        return this;
+    }
+
+    /**
+     * Sets how many components {@link EasyInjector#close} closes at the same time, 8 by default
+     */
+    public InjectorOptions closeParallelism(int closeParallelism) {
+        if (closeParallelism <= 0) {
+            throw new EasyInjectorRuntimeException("closeParallelism must be positive");
+        }
+        this.closeParallelism = closeParallelism;
+        return this;
+    }
+
+    /**
+     * Sets how long {@link EasyInjector#close} waits for a single component before interrupting it, 30 seconds by default
+     */
+    public InjectorOptions closeTimeout(Duration closeTimeout) {
+        this.closeTimeout = closeTimeout;
+        return this;
+    }
+
+    public InjectionStrategy getInjectionStrategy() {
+        return injectionStrategy;
+    }
+
+    public InjectorListener getListener() {
+        return listener;
+    }
+
+    public Path getSnapshot() {
+        return snapshot;
+    }
+
+    public boolean isValidateOnCreate() {
+        return validateOnCreate;
+    }
+
+    public Executor getAsyncExecutor() {
+        return asyncExecutor;
+    }
+
+    public int getCloseParallelism() {
+        return closeParallelism;
+    }
+
+    public Duration getCloseTimeout() {
+        return closeTimeout;
+    }
+
+    public Map<Class<? extends Annotation>, ScopeHandler> getScopes() {
+        return Collections.unmodifiableMap(scopes);
+    }
+}
@@ -0,0 +1,38 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Static switch and helpers for injector instrumentation.
+ * ENABLED is a constant, so with instrumentation off every check folds away.
+ */
+final class Instrumentation {
+
+    static final boolean ENABLED = Boolean.getBoolean("xyz.juliandev.easy.instrumentation");
+
+    private Instrumentation() {}
+
+    /**
+     * @return provider reporting each construction through unscoped to listener
+     */
+    static <T> Provider<T> constructing(InjectorListener listener, Key<T> key, Class<? extends Annotation> scope, Provider<T> unscoped) {
+        return () -> {
+            long start = System.nanoTime();
+            T instance = unscoped.get();
+            listener.instanceConstructed(key, scope, System.nanoTime() - start);
+            return instance;
+        };
+    }
+
+    /**
+     * @return provider reporting each provision through provider to listener
+     */
+    static <T> Provider<T> providing(InjectorListener listener, Key<T> key, Provider<T> provider) {
+        return () -> {
+            long start = System.nanoTime();
+            T instance = provider.get();
+            listener.instanceProvided(key, System.nanoTime() - start);
+            return instance;
+        };
+    }
+}
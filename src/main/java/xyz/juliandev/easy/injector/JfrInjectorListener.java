@@ -0,0 +1,126 @@
+package xyz.juliandev.easy.injector;
+
+import jdk.jfr.Category;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Listener emitting injector events to Java Flight Recorder.
+ * Provisions are not emitted by default to keep recordings small, enable the
+ * {@code xyz.juliandev.easy.Provision} event in the recording settings to see them.
+ */
+public final class JfrInjectorListener implements InjectorListener {
+
+    @Override
+    public void bindingCreated(Key<?> key, boolean justInTime) {
+        BindingCreatedEvent event = new BindingCreatedEvent();
+        if (event.isEnabled()) {
+            event.key = key.toString();
+            event.justInTime = justInTime;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void reflected(Class<?> type, long nanos) {
+        ReflectionEvent event = new ReflectionEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void instanceConstructed(Key<?> key, Class<? extends Annotation> scope, long nanos) {
+        ConstructionEvent event = new ConstructionEvent();
+        if (event.isEnabled()) {
+            event.key = key.toString();
+            event.scope = scope != null ? scope.getSimpleName() : null;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void instanceProvided(Key<?> key, long nanos) {
+        ProvisionEvent event = new ProvisionEvent();
+        if (event.isEnabled()) {
+            event.key = key.toString();
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    @Override
+    public void fieldsInjected(Class<?> type, long nanos) {
+        FieldInjectionEvent event = new FieldInjectionEvent();
+        if (event.isEnabled()) {
+            event.type = type;
+            event.nanos = nanos;
+            event.commit();
+        }
+    }
+
+    @Name("xyz.juliandev.easy.BindingCreated")
+    @Label("Binding Created")
+    @Category("EasyInject")
+    static final class BindingCreatedEvent extends Event {
+        @Label("Key")
+        String key;
+        @Label("Just In Time")
+        boolean justInTime;
+    }
+
+    @Name("xyz.juliandev.easy.Reflection")
+    @Label("Reflective Discovery")
+    @Category("EasyInject")
+    static final class ReflectionEvent extends Event {
+        @Label("Type")
+        Class<?> type;
+        @Label("Duration")
+        @Timespan
+        long nanos;
+    }
+
+    @Name("xyz.juliandev.easy.Construction")
+    @Label("Instance Constructed")
+    @Category("EasyInject")
+    static final class ConstructionEvent extends Event {
+        @Label("Key")
+        String key;
+        @Label("Scope")
+        String scope;
+        @Label("Duration")
+        @Timespan
+        long nanos;
+    }
+
+    @Name("xyz.juliandev.easy.Provision")
+    @Label("Instance Provided")
+    @Category("EasyInject")
+    @Enabled(false)
+    static final class ProvisionEvent extends Event {
+        @Label("Key")
+        String key;
+        @Label("Duration")
+        @Timespan
+        long nanos;
+    }
+
+    @Name("xyz.juliandev.easy.FieldInjection")
+    @Label("Fields Injected")
+    @Category("EasyInject")
+    static final class FieldInjectionEvent extends Event {
+        @Label("Type")
+        Class<?> type;
+        @Label("Duration")
+        @Timespan
+        long nanos;
+    }
+}
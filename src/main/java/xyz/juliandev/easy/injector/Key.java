@@ -4,7 +4,20 @@ import xyz.juliandev.easy.annotations.Named;
 import xyz.juliandev.easy.annotations.Qualifier;
 
 import java.lang.annotation.Annotation;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 public class Key<T> {
@@ -19,6 +32,41 @@ public class Key<T> {
         }
     }
 
+    /**
+     * @return Key of an injection point or provider method with the given raw and generic type.
+     * Type arguments, erased to their classes, are only kept for Set and Map; other types bind by raw class.
+     */
+    static Key<?> of(Class<?> type, Type genericType, Annotation qualifier) {
+        Key<?> key = of(type, qualifier);
+        if ((type == Set.class || type == Map.class) && genericType instanceof ParameterizedType) {
+            Type[] actual = ((ParameterizedType) genericType).getActualTypeArguments();
+            Class<?>[] arguments = new Class<?>[actual.length];
+            for (int i = 0; i < actual.length; ++i) {
+                arguments[i] = erase(actual[i]);
+            }
+            return of(type, arguments, key.qualifier, key.name);
+        }
+        return key;
+    }
+
+    /**
+     * @return the class a type erases to
+     */
+    static Class<?> erase(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof GenericArrayType) {
+            return Array.newInstance(erase(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        } else if (type instanceof WildcardType) {
+            return erase(((WildcardType) type).getUpperBounds()[0]);
+        } else if (type instanceof TypeVariable) {
+            return erase(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
     public static Annotation qualifier(Annotation[] annotations) {
         return Stream.of(annotations)
                 .filter(annotation -> annotation.annotationType().isAnnotationPresent(Qualifier.class))
@@ -34,60 +82,303 @@ public class Key<T> {
     }
 
 
+    /**
+     * Interned unqualified keys of each type, so equal keys are the same instance and lookups don't allocate
+     */
+    private static final ClassValue<Key<?>> KEYS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        protected Key<?> computeValue(Class<?> type) {
+            return new Key(type, RAW, null, null);
+        }
+    };
+
+    /**
+     * Interned keys with a qualifier or type arguments, held weakly: their parts may come from other class loaders
+     * than the type, which an entry in the type's ClassValue would keep alive
+     */
+    private static final Map<Object, Interned> INTERNED = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<Key<?>> COLLECTED = new ReferenceQueue<>();
+
+    private static final AtomicInteger IDS = new AtomicInteger();
+
+    private static final Class<?>[] RAW = new Class<?>[0];
+
     private final Class<T> type;
+    private final Class<?>[] arguments;
     private final Class<? extends Annotation> qualifier;
     private final String name;
+    /**
+     * Provider method contributing this element to a Set or Map, null for keys that can be injected
+     */
+    private final String contributor;
+    private final int hash;
+    private final int id;
+
+    private Key(Class<T> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name) {
+        this(type, arguments, qualifier, name, null);
+    }
 
-    private Key(Class<T> type, Class<? extends Annotation> qualifier, String name) {
+    private Key(Class<T> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name, String contributor) {
         this.type = type;
+        this.arguments = arguments;
         this.qualifier = qualifier;
         this.name = name;
+        this.contributor = contributor;
+        this.hash = hash(type, arguments, qualifier, name, contributor);
+        this.id = IDS.getAndIncrement();
+    }
+
+    private static int hash(Class<?> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name, String contributor) {
+        int result = type.hashCode();
+        result = 31 * result + Arrays.hashCode(arguments);
+        result = 31 * result + (qualifier != null ? qualifier.hashCode() : 0);
+        result = 31 * result + (name != null ? name.hashCode() : 0);
+        result = 31 * result + (contributor != null ? contributor.hashCode() : 0);
+        return result;
+    }
+
+    /**
+     * @return the interned key with the given parts, created if no equal key is reachable anymore
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Key<T> intern(Class<?> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name, String contributor) {
+        Lookup lookup = new Lookup(type, arguments, qualifier, name, contributor);
+        while (true) {
+            Interned interned = INTERNED.get(lookup);
+            Key<?> key = interned != null ? interned.get() : null;
+            if (key != null) {
+                return (Key<T>) key;
+            }
+            for (Object collected; (collected = COLLECTED.poll()) != null; ) {
+                INTERNED.remove(collected);
+            }
+            Key<?> created = new Key(type, arguments.length == 0 ? RAW : arguments.clone(), qualifier, name, contributor);
+            Interned reference = new Interned(created);
+            Interned existing = INTERNED.putIfAbsent(reference, reference);
+            if (existing == null) {
+                return (Key<T>) created;
+            }
+            // An equal key was interned concurrently, use it unless it has been collected since
+            key = existing.get();
+            if (key != null) {
+                return (Key<T>) key;
+            }
+        }
+    }
+
+    private boolean matches(Class<?> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name, String contributor) {
+        return this.type == type && Arrays.equals(this.arguments, arguments)
+                && this.qualifier == qualifier && Objects.equals(this.name, name) && Objects.equals(this.contributor, contributor);
     }
 
 
     /**
      * @return Key for a given type
      */
+    @SuppressWarnings("unchecked")
     public static <T> Key<T> of(Class<T> type) {
-        return new Key<>(type, null, null);
+        return (Key<T>) KEYS.get(type);
     }
 
     /**
      * @return Key for a given type and qualifier annotation type
      */
     public static <T> Key<T> of(Class<T> type, Class<? extends Annotation> qualifier) {
-        return new Key<>(type, qualifier, null);
+        if (qualifier == null) {
+            return of(type);
+        }
+        return intern(type, RAW, qualifier, null, null);
     }
 
     /**
      * @return Key for a given type and name (@Named value)
      */
     public static <T> Key<T> of(Class<T> type, String name) {
-        return new Key<>(type, Named.class, name);
+        if (name == null) {
+            return of(type, Named.class);
+        }
+        return intern(type, RAW, Named.class, name, null);
+    }
+
+    /**
+     * @return Key for the Set of element, as contributed by {@link xyz.juliandev.easy.annotations.IntoSet}
+     */
+    public static <E> Key<Set<E>> ofSet(Class<E> element) {
+        return of(Set.class, new Class<?>[]{element}, null, null);
+    }
+
+    /**
+     * @return Key for the Set of element with a qualifier annotation type
+     */
+    public static <E> Key<Set<E>> ofSet(Class<E> element, Class<? extends Annotation> qualifier) {
+        return of(Set.class, new Class<?>[]{element}, qualifier, null);
+    }
+
+    /**
+     * @return Key for the Set of element with a name (@Named value)
+     */
+    public static <E> Key<Set<E>> ofSet(Class<E> element, String name) {
+        return of(Set.class, new Class<?>[]{element}, Named.class, name);
+    }
+
+    /**
+     * @return Key for the Map from String to value, as contributed by {@link xyz.juliandev.easy.annotations.IntoMap}
+     */
+    public static <V> Key<Map<String, V>> ofMap(Class<V> value) {
+        return of(Map.class, new Class<?>[]{String.class, value}, null, null);
+    }
+
+    /**
+     * @return Key for the Map from String to value with a qualifier annotation type
+     */
+    public static <V> Key<Map<String, V>> ofMap(Class<V> value, Class<? extends Annotation> qualifier) {
+        return of(Map.class, new Class<?>[]{String.class, value}, qualifier, null);
+    }
+
+    /**
+     * @return Key for the Map from String to value with a name (@Named value)
+     */
+    public static <V> Key<Map<String, V>> ofMap(Class<V> value, String name) {
+        return of(Map.class, new Class<?>[]{String.class, value}, Named.class, name);
+    }
+
+    /**
+     * @return Key for a generic type given by its raw type and (erased) type arguments
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Key<T> of(Class<?> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name) {
+        if (arguments.length == 0) {
+            return (Key<T>) (name != null ? of(type, name) : of(type, qualifier));
+        }
+        return intern(type, arguments, qualifier, name, null);
+    }
+
+    /**
+     * @return internal key of element as contributed to a Set or Map by the provider method contributor,
+     * so every contribution of the same element type gets a binding of its own
+     */
+    static <T> Key<T> contributor(Key<T> element, String contributor) {
+        return intern(element.type, element.arguments, element.qualifier, element.name, contributor);
     }
 
     @Override
     public boolean equals(Object obj) {
         if (this == obj) return true;
         if (!(obj instanceof Key<?> key)) return false;
-        return type.equals(key.type) && Objects.equals(qualifier, key.qualifier) && Objects.equals(name, key.name);
+        return type.equals(key.type) && Arrays.equals(arguments, key.arguments)
+                && Objects.equals(qualifier, key.qualifier) && Objects.equals(name, key.name) && Objects.equals(contributor, key.contributor);
     }
 
     @Override
     public int hashCode() {
-        int result = type.hashCode();
-        result = 31 * result + (qualifier != null ? qualifier.hashCode() : 0);
-        result = 31 * result + (name != null ? name.hashCode() : 0);
-        return result;
+        return hash;
     }
 
     @Override
     public String toString() {
-        String suffix = name != null ? "@\"" + name + "\"" : qualifier != null ? "@" + qualifier.getSimpleName() : "";
+        String suffix = (name != null ? "@\"" + name + "\"" : qualifier != null ? "@" + qualifier.getSimpleName() : "")
+                + (contributor != null ? " contributed by " + contributor : "");
+        if (arguments.length > 0) {
+            StringBuilder generic = new StringBuilder(type.getName()).append('<');
+            for (int i = 0; i < arguments.length; ++i) {
+                generic.append(i == 0 ? "" : ", ").append(arguments[i].getName());
+            }
+            return generic.append('>').append(suffix).toString();
+        }
         return type.getName() + suffix;
     }
 
     public Class<T> getType() {
         return type;
     }
+
+    /**
+     * @return erased type arguments, empty for keys of raw types
+     */
+    Class<?>[] arguments() {
+        return arguments;
+    }
+
+    /**
+     * @return qualifier annotation type or null
+     */
+    Class<? extends Annotation> qualifier() {
+        return qualifier;
+    }
+
+    /**
+     * @return @Named value or null
+     */
+    String name() {
+        return name;
+    }
+
+    /**
+     * @return sequential number of this interned key, used to probe frozen binding tables
+     */
+    int id() {
+        return id;
+    }
+
+    /**
+     * Parts of a key looked up among the interned keys
+     */
+    private static final class Lookup {
+        private final Class<?> type;
+        private final Class<?>[] arguments;
+        private final Class<? extends Annotation> qualifier;
+        private final String name;
+        private final String contributor;
+        private final int hash;
+
+        private Lookup(Class<?> type, Class<?>[] arguments, Class<? extends Annotation> qualifier, String name, String contributor) {
+            this.type = type;
+            this.arguments = arguments;
+            this.qualifier = qualifier;
+            this.name = name;
+            this.contributor = contributor;
+            this.hash = Key.hash(type, arguments, qualifier, name, contributor);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            Key<?> key = obj instanceof Interned interned ? interned.get() : null;
+            return key != null && key.matches(type, arguments, qualifier, name, contributor);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Weak entry of an interned key, equal to the entries and lookups of equal keys while its key is reachable
+     */
+    private static final class Interned extends WeakReference<Key<?>> {
+        private final int hash;
+
+        private Interned(Key<?> key) {
+            super(key, COLLECTED);
+            this.hash = key.hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            Key<?> key = get();
+            if (key == null) return false;
+            if (obj instanceof Interned) {
+                Key<?> other = ((Interned) obj).get();
+                return other != null && key.equals(other);
+            }
+            return obj instanceof Lookup lookup && key.matches(lookup.type, lookup.arguments, lookup.qualifier, lookup.name, lookup.contributor);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * A value created on the first call of {@link #get()} and returned by every later call.
+ * Each injected Lazy memoizes its own value, so scoping still applies to what it creates.
+ */
+public interface Lazy<T> {
+
+    /**
+     * @return the value, created on the first call
+     */
+    T get();
+}
@@ -0,0 +1,30 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Lazy over a provider, calling it at most once
+ */
+final class LazyValue<T> implements Lazy<T> {
+
+    private Provider<T> provider;
+    private volatile T value;
+
+    LazyValue(Provider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    result = provider.get();
+                    value = result;
+                    provider = null;
+                }
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,18 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * An instance borrowed from an {@link ObjectPool}, returned to the pool when the lease is closed
+ */
+public interface Lease<T> extends AutoCloseable {
+
+    /**
+     * @return the borrowed instance
+     */
+    T get();
+
+    /**
+     * Returns the instance to the pool, later calls do nothing
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,375 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.PostConstruct;
+import xyz.juliandev.easy.annotations.PreDestroy;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.*;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @PostConstruct and @PreDestroy callbacks, and the singletons of an injector that have to be closed with it.
+ * Components are closed after every component depending on them, independent ones in parallel.
+ * A singleton bound under several keys, like one a provider method returns, is one component closed once.
+ */
+final class Lifecycle {
+
+    private static final ClassValue<Hooks> HOOKS = new ClassValue<>() {
+        @Override
+        protected Hooks computeValue(Class<?> type) {
+            return new Hooks(type);
+        }
+    };
+
+    private final Queue<Component> components = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @return whether type declares or inherits @PostConstruct methods
+     */
+    static boolean hasPostConstruct(Class<?> type) {
+        return HOOKS.get(type).postConstruct.length > 0;
+    }
+
+    /**
+     * @return provider calling the @PostConstruct methods of each instance created by provider.
+     * Only for bindings constructing their instances, provider methods may return instances of other bindings.
+     */
+    static <T> Provider<T> postConstructing(Key<T> key, Provider<T> provider) {
+        return () -> {
+            T instance = provider.get();
+            if (instance != null) {
+                for (Method method : HOOKS.get(instance.getClass()).postConstruct) {
+                    try {
+                        method.invoke(instance);
+                    } catch (InvocationTargetException e) {
+                        throw new EasyInjectorRuntimeException(String.format("@PostConstruct %s of %s failed", method.getName(), key), e.getCause());
+                    } catch (IllegalAccessException e) {
+                        throw new EasyInjectorRuntimeException(String.format("Can't call @PostConstruct %s of %s", method.getName(), key), e);
+                    }
+                }
+            }
+            return instance;
+        };
+    }
+
+    /**
+     * @return provider registering the instances of provider that need closing as components of this lifecycle
+     */
+    <T> Provider<T> tracking(Key<T> key, Dependency[] dependencies, Provider<T> provider) {
+        return () -> {
+            T instance = provider.get();
+            if (instance != null && HOOKS.get(instance.getClass()).destroyable()) {
+                components.add(new Component(key, dependencies, instance));
+            }
+            return instance;
+        };
+    }
+
+    /**
+     * Closes the registered components, each after the components depending on it. Up to parallelism components
+     * are closed at once; a component taking longer than timeoutNanos is interrupted and reported as failed,
+     * the components it depends on are left open as it may still use them.
+     *
+     * @param resolver existing binding of a key, to find dependencies through unscoped bindings
+     * @throws EasyInjectorRuntimeException listing every component that failed or timed out
+     */
+    void close(Function<Key<?>, Binding<?>> resolver, int parallelism, long timeoutNanos) {
+        List<Component> all = new ArrayList<>();
+        Map<Object, Component> byInstance = new IdentityHashMap<>();
+        Map<Key<?>, List<Component>> byKey = new HashMap<>();
+        for (Component component = components.poll(); component != null; component = components.poll()) {
+            Component same = byInstance.putIfAbsent(component.instance, component);
+            if (same != null) {
+                same.dependencyKeys.addAll(component.dependencyKeys);
+                component = same;
+            } else {
+                all.add(component);
+            }
+            List<Component> bound = byKey.computeIfAbsent(component.key, k -> new ArrayList<>(1));
+            if (!bound.contains(component)) {
+                bound.add(component);
+            }
+        }
+        if (all.isEmpty()) {
+            return;
+        }
+        for (Component component : all) {
+            for (Component dependency : dependencies(component, byKey, resolver)) {
+                dependency.dependents++;
+                component.dependencies.add(dependency);
+            }
+        }
+        Deque<Component> ready = new ArrayDeque<>();
+        for (Component component : all) {
+            if (component.dependents == 0) {
+                ready.add(component);
+            }
+        }
+
+        List<String> problems = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        ExecutorService executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "easyinject-close");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<Component> completion = new ExecutorCompletionService<>(executor);
+        Map<Future<Component>, Component> running = new HashMap<>();
+        Map<Future<Component>, Long> deadlines = new HashMap<>();
+        int remaining = all.size();
+        try {
+            while (remaining > 0) {
+                if (ready.isEmpty() && running.isEmpty()) {
+                    // Only components depending on each other through providers are left
+                    for (Component component : all) {
+                        if (!component.closed && !component.abandoned && component.dependents > 0) {
+                            component.dependents = 0;
+                            ready.add(component);
+                        }
+                    }
+                }
+                while (!ready.isEmpty() && running.size() < parallelism) {
+                    Component component = ready.poll();
+                    Future<Component> future = completion.submit(component::close, component);
+                    running.put(future, component);
+                    deadlines.put(future, System.nanoTime() + timeoutNanos);
+                }
+                if (running.isEmpty()) {
+                    break;
+                }
+                long wait = Long.MAX_VALUE;
+                for (long deadline : deadlines.values()) {
+                    wait = Math.min(wait, deadline - System.nanoTime());
+                }
+                Future<Component> done = completion.poll(Math.max(wait, 0), TimeUnit.NANOSECONDS);
+                List<Future<Component>> finished = new ArrayList<>();
+                List<Component> timedOut = new ArrayList<>();
+                if (done != null && running.containsKey(done)) {
+                    finished.add(done);
+                    try {
+                        done.get();
+                    } catch (ExecutionException e) {
+                        problems.add(e.getCause().getMessage());
+                        failures.add(e.getCause());
+                    }
+                }
+                long now = System.nanoTime();
+                for (Map.Entry<Future<Component>, Long> deadline : deadlines.entrySet()) {
+                    if (deadline.getValue() - now <= 0 && !finished.contains(deadline.getKey())) {
+                        Component component = running.remove(deadline.getKey());
+                        deadline.getKey().cancel(true);
+                        String problem = String.format("%s: not closed within %d ms", component.key, TimeUnit.NANOSECONDS.toMillis(timeoutNanos));
+                        problems.add(problem);
+                        failures.add(new EasyInjectorRuntimeException(problem));
+                        timedOut.add(component);
+                    }
+                }
+                deadlines.keySet().retainAll(running.keySet());
+                for (Component component : timedOut) {
+                    remaining -= abandon(component, problems);
+                }
+                for (Future<Component> future : finished) {
+                    Component component = running.remove(future);
+                    deadlines.remove(future);
+                    component.closed = true;
+                    remaining--;
+                    for (Component dependency : component.dependencies) {
+                        if (--dependency.dependents == 0 && !dependency.closed && !dependency.abandoned) {
+                            ready.add(dependency);
+                        }
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            problems.add(String.format("interrupted with %d components left open", remaining));
+        } finally {
+            executor.shutdownNow();
+        }
+        if (!problems.isEmpty()) {
+            EasyInjectorRuntimeException exception = new EasyInjectorRuntimeException(String.format("Closing failed for %d components:%n  %s",
+                    problems.size(), String.join(String.format("%n  "), problems)), failures.isEmpty() ? null : failures.get(0));
+            for (int i = 1; i < failures.size(); ++i) {
+                exception.addSuppressed(failures.get(i));
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Gives up on the timed-out component and on the components only closable after it, which are still waiting
+     *
+     * @return the number of components given up on
+     */
+    private static int abandon(Component timedOut, List<String> problems) {
+        int abandoned = 0;
+        timedOut.abandoned = true;
+        Deque<Component> pending = new ArrayDeque<>(List.of(timedOut));
+        while (!pending.isEmpty()) {
+            Component component = pending.pop();
+            abandoned++;
+            for (Component dependency : component.dependencies) {
+                if (!dependency.closed && !dependency.abandoned && dependency.dependents > 0) {
+                    dependency.abandoned = true;
+                    problems.add(String.format("%s: left open, %s may still use it", dependency.key, timedOut.key));
+                    pending.push(dependency);
+                }
+            }
+        }
+        return abandoned;
+    }
+
+    /**
+     * @return the components component depends on, directly or through bindings that aren't components
+     */
+    private static Set<Component> dependencies(Component component, Map<Key<?>, List<Component>> byKey, Function<Key<?>, Binding<?>> resolver) {
+        Set<Component> dependencies = new LinkedHashSet<>();
+        Set<Key<?>> visited = new HashSet<>();
+        Deque<Dependency> pending = new ArrayDeque<>(component.dependencyKeys);
+        while (!pending.isEmpty()) {
+            Key<?> key = pending.pop().getKey();
+            if (!visited.add(key)) {
+                continue;
+            }
+            List<Component> bound = byKey.get(key);
+            if (bound != null) {
+                for (Component dependency : bound) {
+                    if (dependency != component) {
+                        dependencies.add(dependency);
+                    }
+                }
+                continue;
+            }
+            Binding<?> binding = resolver.apply(key);
+            if (binding != null) {
+                pending.addAll(List.of(binding.getDependencies()));
+            }
+        }
+        return dependencies;
+    }
+
+    /**
+     * A singleton to close with its injector, with its position in the close order
+     */
+    private static final class Component {
+        private final Key<?> key;
+        private final List<Dependency> dependencyKeys;
+        private final Object instance;
+        private final List<Component> dependencies = new ArrayList<>();
+        private int dependents;
+        private boolean closed;
+        private boolean abandoned;
+
+        private Component(Key<?> key, Dependency[] dependencyKeys, Object instance) {
+            this.key = key;
+            this.dependencyKeys = new ArrayList<>(List.of(dependencyKeys));
+            this.instance = instance;
+        }
+
+        private void close() {
+            Hooks hooks = HOOKS.get(instance.getClass());
+            try {
+                for (Method method : hooks.preDestroy) {
+                    method.invoke(instance);
+                }
+                if (hooks.closeable) {
+                    ((AutoCloseable) instance).close();
+                }
+            } catch (InvocationTargetException e) {
+                throw new EasyInjectorRuntimeException(String.format("@PreDestroy of %s failed: %s", key, e.getCause()), e.getCause());
+            } catch (Exception e) {
+                throw new EasyInjectorRuntimeException(String.format("Closing %s failed: %s", key, e), e);
+            }
+        }
+    }
+
+    /**
+     * Lifecycle methods of a class, overridden methods only once
+     */
+    private static final class Hooks {
+        private final Method[] postConstruct;
+        private final Method[] preDestroy;
+        private final boolean closeable;
+
+        private Hooks(Class<?> type) {
+            List<Method> postConstruct = new ArrayList<>();
+            List<Method> preDestroy = new ArrayList<>();
+            // Declaring classes of the instance methods without parameters seen in subclasses, by name
+            Map<String, List<Class<?>>> overriding = new HashMap<>();
+            boolean closedByHook = false;
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                List<Method> declared = new ArrayList<>();
+                for (Method method : current.getDeclaredMethods()) {
+                    if (method.isBridge() || method.isSynthetic()) {
+                        continue;
+                    }
+                    boolean post = method.isAnnotationPresent(PostConstruct.class);
+                    boolean pre = method.isAnnotationPresent(PreDestroy.class);
+                    if (method.getParameterCount() == 0 && !Modifier.isStatic(method.getModifiers())) {
+                        List<Class<?>> subclasses = overriding.computeIfAbsent(method.getName(), name -> new ArrayList<>());
+                        boolean overridden = isOverridden(method, subclasses);
+                        if (!Modifier.isPrivate(method.getModifiers())) {
+                            subclasses.add(current);
+                        }
+                        if (overridden) {
+                            continue;
+                        }
+                    }
+                    if (!post && !pre) {
+                        continue;
+                    }
+                    if (method.getParameterCount() != 0 || Modifier.isStatic(method.getModifiers())) {
+                        throw new EasyInjectorRuntimeException(String.format("Lifecycle method %s must be an instance method without parameters", method));
+                    }
+                    method.setAccessible(true);
+                    if (post) {
+                        declared.add(method);
+                    }
+                    if (pre) {
+                        preDestroy.add(method);
+                        closedByHook |= method.getName().equals("close");
+                    }
+                }
+                postConstruct.addAll(0, declared);
+            }
+            this.postConstruct = postConstruct.toArray(new Method[0]);
+            this.preDestroy = preDestroy.toArray(new Method[0]);
+            this.closeable = AutoCloseable.class.isAssignableFrom(type) && !closedByHook;
+        }
+
+        /**
+         * @return whether a method of one of subclasses overrides method, following the JVM's rules:
+         * private methods are never overridden, package-private ones only from the same runtime package
+         */
+        private static boolean isOverridden(Method method, List<Class<?>> subclasses) {
+            int modifiers = method.getModifiers();
+            if (Modifier.isPrivate(modifiers) || subclasses.isEmpty()) {
+                return false;
+            }
+            if (Modifier.isPublic(modifiers) || Modifier.isProtected(modifiers)) {
+                return true;
+            }
+            Class<?> declaring = method.getDeclaringClass();
+            for (Class<?> subclass : subclasses) {
+                if (subclass.getClassLoader() == declaring.getClassLoader() && subclass.getPackageName().equals(declaring.getPackageName())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean destroyable() {
+            return closeable || preDestroy.length > 0;
+        }
+    }
+}
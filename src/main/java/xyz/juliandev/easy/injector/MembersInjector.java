@@ -0,0 +1,142 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Inject;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Field injector of a single class, with the providers of its fields already resolved.
+ * The reflective part (field discovery and setters) is computed once per class and shared by all injectors.
+ */
+final class MembersInjector {
+
+    private static final MethodType SETTER = MethodType.methodType(void.class, Object.class, Object.class);
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final ClassValue<Plan> PLANS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected Plan computeValue(Class<?> type) {
+            GeneratedMembersInjector<Object> generated = (GeneratedMembersInjector<Object>) Generated.membersInjector(type);
+            if (generated != null) {
+                return new Plan(generated.dependencies(), null, generated);
+            }
+            List<Field> fields = annotatedFields(type);
+            Dependency[] dependencies = new Dependency[fields.size()];
+            MethodHandle[] setters = new MethodHandle[fields.size()];
+            for (int i = 0; i < fields.size(); ++i) {
+                Field field = fields.get(i);
+                dependencies[i] = EasyInjectorImpl.dependency(field.getType(), field.getGenericType(), field.getAnnotations());
+                setters[i] = setter(field);
+            }
+            return new Plan(dependencies, setters, null);
+        }
+    };
+
+    private final Plan plan;
+    private final Provider<?>[] values;
+
+    /**
+     * @param resolver resolves the provider of a field's value for each dependency
+     */
+    MembersInjector(Class<?> type, Function<Dependency, Provider<?>> resolver) {
+        this.plan = PLANS.get(type);
+        this.values = new Provider<?>[plan.dependencies.length];
+        for (int i = 0; i < values.length; ++i) {
+            values[i] = resolver.apply(plan.dependencies[i]);
+        }
+    }
+
+    /**
+     * @return false if a field can't be assigned
+     */
+    boolean inject(Object target) {
+        if (plan.generated != null) {
+            Object[] resolved = new Object[values.length];
+            for (int i = 0; i < values.length; ++i) {
+                resolved[i] = values[i].get();
+            }
+            plan.generated.inject(target, resolved);
+            return true;
+        }
+        boolean injected = true;
+        for (int i = 0; i < values.length; ++i) {
+            injected &= inject(target, i);
+        }
+        return injected;
+    }
+
+    /**
+     * @return false if the field at index, or with a generated injector all fields, can't be assigned
+     */
+    boolean inject(Object target, int index) {
+        if (plan.generated != null) {
+            return inject(target);
+        }
+        MethodHandle setter = plan.setters[index];
+        if (setter == null) {
+            return false;
+        }
+        try {
+            setter.invokeExact(target, (Object) values[index].get());
+            return true;
+        } catch (EasyInjectorRuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EasyInjectorRuntimeException(String.format("Can't inject %s into %s", plan.dependencies[index], target.getClass().getName()), e);
+        }
+    }
+
+    /**
+     * @return number of parts injectable by index: the fields, or a single one for a generated injector
+     */
+    int size() {
+        return plan.generated != null ? Math.min(values.length, 1) : values.length;
+    }
+
+    private static MethodHandle setter(Field field) {
+        try {
+            MethodHandle setter = LOOKUP.unreflectSetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                setter = MethodHandles.dropArguments(setter, 0, Object.class);
+            }
+            return setter.asType(SETTER);
+        } catch (IllegalAccessException e) {
+            return null;
+        }
+    }
+
+    private static List<Field> annotatedFields(Class<?> type) {
+        Class<?> current = type;
+        List<Field> fields = new ArrayList<>();
+        while (current != null && !current.equals(Object.class)) {
+            for (Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class)) {
+                    field.setAccessible(true);
+                    fields.add(field);
+                }
+            }
+            current = current.getSuperclass();
+        }
+        return fields;
+    }
+
+    private static final class Plan {
+        private final Dependency[] dependencies;
+        private final MethodHandle[] setters;
+        private final GeneratedMembersInjector<Object> generated;
+
+        private Plan(Dependency[] dependencies, MethodHandle[] setters, GeneratedMembersInjector<Object> generated) {
+            this.dependencies = dependencies;
+            this.setters = setters;
+            this.generated = generated;
+        }
+    }
+}
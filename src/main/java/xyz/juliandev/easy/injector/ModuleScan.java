@@ -0,0 +1,159 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.IntoMap;
+import xyz.juliandev.easy.annotations.IntoSet;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.StringKey;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The @Provides methods of a module class with their keys, dependencies and scopes.
+ * Computed once per class; superclass scans are reused, so a shared base module is only walked once.
+ */
+final class ModuleScan {
+
+    private static final int PARALLEL_THRESHOLD = 4;
+
+    private static final ClassValue<ModuleScan> SCANS = new ClassValue<>() {
+        @Override
+        protected ModuleScan computeValue(Class<?> type) {
+            return new ModuleScan(type);
+        }
+    };
+
+    private final List<Provision> provisions;
+
+    private ModuleScan(Class<?> type) {
+        List<Provision> provisions = new ArrayList<>();
+        Set<Signature> overridden = new HashSet<>();
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Provides.class)) {
+                method.setAccessible(true);
+                provisions.add(new Provision(method));
+                overridden.add(new Signature(method));
+            }
+        }
+        Class<?> superclass = type.getSuperclass();
+        if (superclass != null && !superclass.equals(Object.class)) {
+            for (Provision inherited : of(superclass).provisions) {
+                if (!overridden.contains(new Signature(inherited.method))) {
+                    provisions.add(inherited);
+                }
+            }
+        }
+        this.provisions = Collections.unmodifiableList(provisions);
+    }
+
+    /**
+     * @return the (cached) scan of a module class
+     */
+    static ModuleScan of(Class<?> type) {
+        return SCANS.get(type);
+    }
+
+    /**
+     * Scans the distinct classes of modules, in parallel when there are enough of them
+     */
+    static void prepare(Iterable<? extends AbstractModule> modules) {
+        Set<Class<?>> types = new LinkedHashSet<>();
+        for (AbstractModule module : modules) {
+            types.add(module.getClass());
+        }
+        if (types.size() >= PARALLEL_THRESHOLD) {
+            types.parallelStream().forEach(ModuleScan::of);
+        }
+    }
+
+    /**
+     * @return provider methods of the class and its superclasses, overridden ones excluded
+     */
+    List<Provision> provisions() {
+        return provisions;
+    }
+
+    /**
+     * Metadata of one @Provides method
+     */
+    static final class Provision {
+        final Method method;
+        final Key<?> key;
+        final Dependency[] dependencies;
+        final Class<? extends Annotation> scope;
+        /**
+         * Set or Map key the value is contributed to, null if the method binds key itself
+         */
+        final Key<?> collection;
+        final String mapKey;
+
+        private Provision(Method method) {
+            this.method = method;
+            this.key = Key.of(method.getReturnType(), method.getGenericReturnType(), EasyInjectorImpl.qualifier(method.getAnnotations()));
+            this.dependencies = EasyInjectorImpl.dependencies(method.getParameterTypes(), method.getGenericParameterTypes(), method.getParameterAnnotations());
+            this.scope = EasyInjectorImpl.scope(method.getAnnotations());
+            StringKey stringKey = method.getAnnotation(StringKey.class);
+            if (method.isAnnotationPresent(IntoSet.class)) {
+                if (method.isAnnotationPresent(IntoMap.class)) {
+                    throw new EasyInjectorRuntimeException(String.format("%s is annotated with both @IntoSet and @IntoMap", method));
+                }
+                this.collection = Multibindings.setKey(key);
+            } else if (method.isAnnotationPresent(IntoMap.class)) {
+                if (stringKey == null) {
+                    throw new EasyInjectorRuntimeException(String.format("@IntoMap method %s has no @StringKey", method));
+                }
+                this.collection = Multibindings.mapKey(key);
+            } else {
+                this.collection = null;
+            }
+            this.mapKey = stringKey != null ? stringKey.value() : null;
+        }
+
+        Provision(Method method, Key<?> key, Dependency[] dependencies, Class<? extends Annotation> scope, Key<?> collection, String mapKey) {
+            method.setAccessible(true);
+            this.method = method;
+            this.key = key;
+            this.dependencies = dependencies;
+            this.scope = scope;
+            this.collection = collection;
+            this.mapKey = mapKey;
+        }
+    }
+
+    private static final class Signature {
+        private final String name;
+        private final Class<?>[] parameterTypes;
+        private final int hash;
+
+        private Signature(Method method) {
+            this.name = method.getName();
+            this.parameterTypes = method.getParameterTypes();
+            this.hash = 31 * name.hashCode() + Arrays.hashCode(parameterTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature that = (Signature) o;
+            return name.equals(that.name) && Arrays.equals(parameterTypes, that.parameterTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
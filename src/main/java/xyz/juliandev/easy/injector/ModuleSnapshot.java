@@ -0,0 +1,140 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable set of module bindings. Changes build a new snapshot off to the side,
+ * so a failed change leaves no partial state and readers never see a half-registered module.
+ * Every snapshot gets a new, increasing version.
+ */
+final class ModuleSnapshot {
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    static final ModuleSnapshot EMPTY = new ModuleSnapshot(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<Key<?>, Binding<?>> bindings;
+    private final Map<Key<?>, List<Multibindings.Contribution>> collections;
+    private final Map<AbstractModule, Registration> modules;
+    final long version = VERSIONS.incrementAndGet();
+
+    private ModuleSnapshot(Map<Key<?>, Binding<?>> bindings, Map<Key<?>, List<Multibindings.Contribution>> collections,
+                           Map<AbstractModule, Registration> modules) {
+        this.bindings = bindings;
+        this.collections = collections;
+        this.modules = modules;
+    }
+
+    Binding<?> get(Key<?> key) {
+        return bindings.get(key);
+    }
+
+    Collection<Binding<?>> bindings() {
+        return bindings.values();
+    }
+
+    boolean isEmpty() {
+        return bindings.isEmpty();
+    }
+
+    boolean contains(AbstractModule module) {
+        return modules.containsKey(module);
+    }
+
+    /**
+     * @return snapshot with the bindings and contributions of module added
+     */
+    ModuleSnapshot with(AbstractModule module, Registration registration) {
+        if (modules.containsKey(module)) {
+            throw new EasyInjectorRuntimeException(String.format("Module %s is already registered", module.getClass().getName()));
+        }
+        Map<Key<?>, Binding<?>> newBindings = new HashMap<>(bindings);
+        for (Binding<?> binding : registration.bindings) {
+            if (collections.containsKey(binding.getKey()) || newBindings.putIfAbsent(binding.getKey(), binding) != null) {
+                throw new EasyInjectorRuntimeException("Multiple providers for " + binding.getKey() + " in module " + module.getClass());
+            }
+        }
+        Map<Key<?>, List<Multibindings.Contribution>> newCollections = new HashMap<>(collections);
+        for (Multibindings.Contribution contribution : registration.contributions) {
+            Key<?> key = contribution.collection;
+            if (!collections.containsKey(key) && bindings.containsKey(key) || registration.keys().contains(key)) {
+                throw new EasyInjectorRuntimeException("Multiple providers for " + key + " in module " + module.getClass());
+            }
+            if (newBindings.putIfAbsent(contribution.element.getKey(), contribution.element) != null) {
+                throw new EasyInjectorRuntimeException("Multiple providers for " + contribution.element.getKey() + " in module " + module.getClass());
+            }
+            List<Multibindings.Contribution> contributions = new ArrayList<>(newCollections.getOrDefault(key, Collections.emptyList()));
+            contributions.add(contribution);
+            newCollections.put(key, contributions);
+        }
+        aggregate(newBindings, newCollections, registration);
+        Map<AbstractModule, Registration> newModules = new IdentityHashMap<>(modules);
+        newModules.put(module, registration);
+        return new ModuleSnapshot(newBindings, newCollections, newModules);
+    }
+
+    /**
+     * @return snapshot with the bindings and contributions of module removed
+     */
+    ModuleSnapshot without(AbstractModule module) {
+        Registration registration = modules.get(module);
+        if (registration == null) {
+            throw new EasyInjectorRuntimeException(String.format("Module %s is not registered", module.getClass().getName()));
+        }
+        Map<Key<?>, Binding<?>> newBindings = new HashMap<>(bindings);
+        newBindings.keySet().removeAll(registration.keys());
+        Map<Key<?>, List<Multibindings.Contribution>> newCollections = new HashMap<>(collections);
+        for (Multibindings.Contribution contribution : registration.contributions) {
+            List<Multibindings.Contribution> contributions = new ArrayList<>(newCollections.get(contribution.collection));
+            contributions.remove(contribution);
+            newCollections.put(contribution.collection, contributions);
+        }
+        aggregate(newBindings, newCollections, registration);
+        Map<AbstractModule, Registration> newModules = new IdentityHashMap<>(modules);
+        newModules.remove(module);
+        return new ModuleSnapshot(newBindings, newCollections, newModules);
+    }
+
+    /**
+     * Rebuilds the bindings of the collections registration contributes to
+     */
+    private static void aggregate(Map<Key<?>, Binding<?>> bindings, Map<Key<?>, List<Multibindings.Contribution>> collections, Registration registration) {
+        for (Multibindings.Contribution contribution : registration.contributions) {
+            Key<?> key = contribution.collection;
+            List<Multibindings.Contribution> contributions = collections.get(key);
+            if (contributions.isEmpty()) {
+                collections.remove(key);
+                bindings.remove(key);
+            } else {
+                bindings.put(key, Multibindings.aggregate(key, contributions));
+            }
+        }
+    }
+
+    /**
+     * Bindings and collection contributions of one module, each contribution is bound under its contributor key as well
+     */
+    static final class Registration {
+        private final List<Binding<?>> bindings;
+        private final List<Multibindings.Contribution> contributions;
+
+        Registration(List<Binding<?>> bindings, List<Multibindings.Contribution> contributions) {
+            this.bindings = bindings;
+            this.contributions = contributions;
+        }
+
+        private Set<Key<?>> keys() {
+            Set<Key<?>> keys = new HashSet<>();
+            for (Binding<?> binding : bindings) {
+                keys.add(binding.getKey());
+            }
+            for (Multibindings.Contribution contribution : contributions) {
+                keys.add(contribution.element.getKey());
+            }
+            return keys;
+        }
+    }
+}
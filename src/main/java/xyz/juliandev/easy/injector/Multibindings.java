@@ -0,0 +1,118 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Singleton;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bindings of Set and Map keys assembled from @IntoSet and @IntoMap contributions.
+ * Each contribution is bound under a key of its own, see {@link Key#contributor}, which the collection depends on.
+ * Contributor providers are linked once per snapshot; when all of them are singletons
+ * the immutable collection is built once, otherwise on every call straight from the providers.
+ */
+final class Multibindings {
+
+    private Multibindings() {}
+
+    /**
+     * @return key of the Set an element of elementKey is contributed to
+     */
+    static Key<?> setKey(Key<?> elementKey) {
+        return Key.of(Set.class, new Class<?>[]{elementKey.getType()}, elementKey.qualifier(), elementKey.name());
+    }
+
+    /**
+     * @return key of the Map a value of valueKey is contributed to
+     */
+    static Key<?> mapKey(Key<?> valueKey) {
+        return Key.of(Map.class, new Class<?>[]{String.class, valueKey.getType()}, valueKey.qualifier(), valueKey.name());
+    }
+
+    /**
+     * @return binding of key assembling the values of contributions, depending on the contributors' keys
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Binding<?> aggregate(Key<?> key, List<Contribution> contributions) {
+        int size = contributions.size();
+        Provider<?>[] providers = new Provider<?>[size];
+        Dependency[] dependencies = new Dependency[size];
+        boolean singletons = true;
+        for (int i = 0; i < size; ++i) {
+            Binding<?> element = contributions.get(i).element;
+            providers[i] = element.getProvider();
+            dependencies[i] = Dependency.of(element.getKey());
+            singletons &= element.isSingleton();
+        }
+        String[] mapKeys = null;
+        if (key.getType() == Map.class) {
+            mapKeys = new String[size];
+            Set<String> unique = new HashSet<>();
+            for (int i = 0; i < size; ++i) {
+                mapKeys[i] = contributions.get(i).mapKey;
+                if (!unique.add(mapKeys[i])) {
+                    throw new EasyInjectorRuntimeException(String.format("Multiple contributions for map key \"%s\" of %s", mapKeys[i], key));
+                }
+            }
+        }
+        Provider<?> assembler = assembler(key, mapKeys, providers);
+        if (singletons) {
+            return new Binding(key, dependencies, Singleton.class, new SingletonProvider<>(assembler));
+        }
+        String[] relinkedMapKeys = mapKeys;
+        return new Binding(key, dependencies, null, assembler, assembler, null,
+                params -> new Binding(key, dependencies, null, assembler(key, relinkedMapKeys, (Provider<?>[]) params)));
+    }
+
+    /**
+     * @return provider building the collection of key from the values of providers, a Map if mapKeys isn't null
+     */
+    private static Provider<?> assembler(Key<?> key, String[] mapKeys, Provider<?>[] providers) {
+        int size = providers.length;
+        if (mapKeys != null) {
+            return () -> {
+                Map.Entry<?, ?>[] entries = new Map.Entry<?, ?>[size];
+                for (int i = 0; i < size; ++i) {
+                    entries[i] = Map.entry(mapKeys[i], value(key, providers[i]));
+                }
+                return Map.ofEntries(entries);
+            };
+        }
+        return () -> {
+            Object[] elements = new Object[size];
+            for (int i = 0; i < size; ++i) {
+                elements[i] = value(key, providers[i]);
+            }
+            try {
+                return Set.of(elements);
+            } catch (IllegalArgumentException e) {
+                throw new EasyInjectorRuntimeException(String.format("Duplicate elements contributed to %s", key), e);
+            }
+        };
+    }
+
+    private static Object value(Key<?> key, Provider<?> provider) {
+        Object value = provider.get();
+        if (value == null) {
+            throw new EasyInjectorRuntimeException(String.format("null contributed to %s", key));
+        }
+        return value;
+    }
+
+    /**
+     * An element of a Set or an entry of a Map binding, with the binding producing its value
+     */
+    static final class Contribution {
+        final Key<?> collection;
+        final String mapKey;
+        final Binding<?> element;
+
+        Contribution(Key<?> collection, String mapKey, Binding<?> element) {
+            this.collection = collection;
+            this.mapKey = mapKey;
+            this.element = element;
+        }
+    }
+}
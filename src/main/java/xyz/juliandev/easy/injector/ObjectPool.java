@@ -0,0 +1,28 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Pool of a @Pooled binding, injected by declaring a dependency of type ObjectPool&lt;T&gt;.
+ * <pre>
+ * try (Lease&lt;Parser&gt; parser = parsers.acquire()) {
+ *     parser.get().parse(input);
+ * }
+ * </pre>
+ */
+public interface ObjectPool<T> {
+
+    /**
+     * @return lease of an idle instance, or of a new one when the pool is empty
+     * @throws EasyInjectorRuntimeException if the injector has been closed
+     */
+    Lease<T> acquire();
+
+    /**
+     * Returns an instance obtained from the pool's binding, the instance is discarded when the pool is full or closed
+     */
+    void release(T instance);
+
+    /**
+     * @return number of idle instances
+     */
+    int idle();
+}
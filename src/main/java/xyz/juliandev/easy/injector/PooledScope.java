@@ -0,0 +1,183 @@
+package xyz.juliandev.easy.injector;
+
+import xyz.juliandev.easy.annotations.Pooled;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Scope of @Pooled bindings. Every binding gets a bounded pool of idle instances; {@link Provider#get()}
+ * borrows one (creating it when the pool is empty) and {@link ObjectPool#release} returns it.
+ * <p>
+ * The pool is a lock-free array of slots. Each thread starts probing at its own slot, so concurrent
+ * borrowers rarely contend on the same slot. Idle instances are evicted on a background thread until the
+ * injector is closed, AutoCloseable instances are closed when they are evicted or don't fit into the pool.
+ * A closed pool can't be borrowed from anymore, released instances are discarded.
+ */
+final class PooledScope implements ScopeHandler {
+
+    private static final int MAX_SIZE = 16;
+    private static final long MAX_IDLE = TimeUnit.SECONDS.toNanos(60);
+
+    PooledScope() {}
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+        return pool(key, unscoped, MAX_SIZE, MAX_IDLE);
+    }
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped, Annotation annotation) {
+        if (!(annotation instanceof Pooled)) {
+            return scope(key, unscoped);
+        }
+        Pooled pooled = (Pooled) annotation;
+        if (pooled.maxSize() <= 0) {
+            throw new EasyInjectorRuntimeException(String.format("@Pooled maxSize of %s must be positive", key));
+        }
+        return pool(key, unscoped, pooled.maxSize(), pooled.unit().toNanos(pooled.maxIdle()));
+    }
+
+    private static <T> Provider<T> pool(Key<T> key, Provider<T> unscoped, int maxSize, long maxIdleNanos) {
+        Pool<T> pool = new Pool<>(key, unscoped, maxSize, maxIdleNanos);
+        if (maxIdleNanos > 0) {
+            pool.eviction = Eviction.schedule(pool, Math.max(maxIdleNanos / 2, TimeUnit.MILLISECONDS.toNanos(10)), Pool::evict);
+        }
+        return pool;
+    }
+
+    static final class Pool<T> implements Provider<T>, ObjectPool<T>, Eviction.Scheduled {
+        private final Key<T> key;
+        private final Provider<T> unscoped;
+        private final AtomicReferenceArray<Idle<T>> slots;
+        private final long maxIdleNanos;
+        private volatile Future<?> eviction;
+        private volatile boolean closed;
+
+        private Pool(Key<T> key, Provider<T> unscoped, int maxSize, long maxIdleNanos) {
+            this.key = key;
+            this.unscoped = unscoped;
+            this.slots = new AtomicReferenceArray<>(maxSize);
+            this.maxIdleNanos = maxIdleNanos;
+        }
+
+        @Override
+        public T get() {
+            if (closed) {
+                throw new EasyInjectorRuntimeException(String.format("Pool of %s is closed with its injector", key));
+            }
+            int size = slots.length();
+            int start = stripe(size);
+            for (int i = 0; i < size; ++i) {
+                int slot = (start + i) % size;
+                Idle<T> idle = slots.get(slot);
+                if (idle != null && slots.compareAndSet(slot, idle, null)) {
+                    return idle.instance;
+                }
+            }
+            return unscoped.get();
+        }
+
+        @Override
+        public Lease<T> acquire() {
+            T instance = get();
+            AtomicBoolean released = new AtomicBoolean();
+            return new Lease<>() {
+                @Override
+                public T get() {
+                    return instance;
+                }
+
+                @Override
+                public void close() {
+                    if (released.compareAndSet(false, true)) {
+                        release(instance);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void release(T instance) {
+            if (instance == null) {
+                return;
+            }
+            Idle<T> idle = new Idle<>(instance, System.nanoTime());
+            int size = slots.length();
+            int start = stripe(size);
+            for (int i = 0; i < size && !closed; ++i) {
+                int slot = (start + i) % size;
+                if (slots.get(slot) == null && slots.compareAndSet(slot, null, idle)) {
+                    // Closed concurrently: take it back unless cancel() already discarded it
+                    if (closed && slots.compareAndSet(slot, idle, null)) {
+                        Eviction.discard(instance);
+                    }
+                    return;
+                }
+            }
+            Eviction.discard(instance);
+        }
+
+        @Override
+        public int idle() {
+            int idle = 0;
+            for (int i = 0; i < slots.length(); ++i) {
+                if (slots.get(i) != null) {
+                    idle++;
+                }
+            }
+            return idle;
+        }
+
+        /**
+         * Discards the instances idle for longer than maxIdle
+         */
+        private void evict() {
+            long now = System.nanoTime();
+            for (int i = 0; i < slots.length(); ++i) {
+                Idle<T> idle = slots.get(i);
+                if (idle != null && now - idle.releasedAt >= maxIdleNanos && slots.compareAndSet(i, idle, null)) {
+                    Eviction.discard(idle.instance);
+                }
+            }
+        }
+
+        /**
+         * Closes the pool: stops the eviction task and discards the idle instances
+         */
+        @Override
+        public void cancel() {
+            closed = true;
+            Future<?> task = eviction;
+            if (task != null) {
+                task.cancel(false);
+            }
+            for (int i = 0; i < slots.length(); ++i) {
+                Idle<T> idle = slots.getAndSet(i, null);
+                if (idle != null) {
+                    Eviction.discard(idle.instance);
+                }
+            }
+        }
+
+        private static int stripe(int size) {
+            return (int) (Thread.currentThread().getId() % size);
+        }
+    }
+
+    /**
+     * An idle instance with the time it was released, published together so eviction never sees a stale time
+     */
+    private static final class Idle<T> {
+        private final T instance;
+        private final long releasedAt;
+
+        private Idle(T instance, long releasedAt) {
+            this.instance = instance;
+            this.releasedAt = releasedAt;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Scope of a request or unit of work. Every binding in this scope gets a fixed slot,
+ * instances of a request are kept in a plain array indexed by that slot.
+ * Slots of bindings that were garbage collected are reused, so requests stay as small as the live bindings.
+ * <p>
+ * A request is active on the thread running {@link #run} or {@link #call},
+ * {@link #wrap} hands the current request over to tasks running on other threads.
+ */
+public final class RequestScope implements ScopeHandler {
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+    private static final ReferenceQueue<Slot> RELEASED = new ReferenceQueue<>();
+    private static final Set<SlotReference> ALLOCATED = new HashSet<>();
+    private static final BitSet USED = new BitSet();
+
+    RequestScope() {}
+
+    /**
+     * Runs task in a new request
+     */
+    public static void run(Runnable task) {
+        Context previous = CURRENT.get();
+        CURRENT.set(new Context());
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * Calls task in a new request
+     */
+    public static <V> V call(Callable<V> task) throws Exception {
+        Context previous = CURRENT.get();
+        CURRENT.set(new Context());
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    /**
+     * @return task running in the request active on the calling thread
+     */
+    public static Runnable wrap(Runnable task) {
+        Context context = CURRENT.get();
+        if (context == null) {
+            throw new EasyInjectorRuntimeException("No request scope active");
+        }
+        return () -> {
+            Context previous = CURRENT.get();
+            CURRENT.set(context);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * @return whether a request is active on the calling thread
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    @Override
+    public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+        Slot slot = allocate();
+        return () -> {
+            Context context = CURRENT.get();
+            if (context == null) {
+                throw new EasyInjectorRuntimeException(String.format("No request scope active for %s", key));
+            }
+            return context.get(slot, unscoped);
+        };
+    }
+
+    /**
+     * @return a free slot, after releasing the slots of collected bindings
+     */
+    private static synchronized Slot allocate() {
+        for (SlotReference released = (SlotReference) RELEASED.poll(); released != null; released = (SlotReference) RELEASED.poll()) {
+            ALLOCATED.remove(released);
+            USED.clear(released.index);
+        }
+        Slot slot = new Slot(USED.nextClearBit(0));
+        USED.set(slot.index);
+        ALLOCATED.add(new SlotReference(slot));
+        return slot;
+    }
+
+    private static void restore(Context previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * Slot of one binding, reachable as long as the binding's provider or a request holding its instance
+     */
+    private static final class Slot {
+        private final int index;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+    }
+
+    private static final class SlotReference extends WeakReference<Slot> {
+        private final int index;
+
+        private SlotReference(Slot slot) {
+            super(slot, RELEASED);
+            this.index = slot.index;
+        }
+    }
+
+    /**
+     * Instance of a request with the slot it was created for, so a reused slot never returns another binding's instance
+     */
+    private static final class Scoped {
+        private final Slot slot;
+        private final Object instance;
+
+        private Scoped(Slot slot, Object instance) {
+            this.slot = slot;
+            this.instance = instance;
+        }
+    }
+
+    private static final class Context {
+        private volatile Scoped[] instances = new Scoped[16];
+
+        @SuppressWarnings("unchecked")
+        private <T> T get(Slot slot, Provider<T> provider) {
+            int index = slot.index;
+            Scoped[] current = instances;
+            Scoped scoped = index < current.length ? current[index] : null;
+            if (scoped == null || scoped.slot != slot) {
+                synchronized (this) {
+                    current = instances;
+                    scoped = index < current.length ? current[index] : null;
+                    if (scoped == null || scoped.slot != slot) {
+                        scoped = new Scoped(slot, provider.get());
+                        current = instances;
+                        if (index >= current.length) {
+                            current = Arrays.copyOf(current, Math.max(index + 1, current.length * 2));
+                        }
+                        current[index] = scoped;
+                        instances = current;
+                    }
+                }
+            }
+            return (T) scoped.instance;
+        }
+    }
+}
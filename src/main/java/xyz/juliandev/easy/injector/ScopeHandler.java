@@ -0,0 +1,28 @@
+package xyz.juliandev.easy.injector;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Implementation of a scope annotation (an annotation annotated with {@link xyz.juliandev.easy.annotations.Scope}).
+ * Handlers are registered with {@link InjectorOptions#scope}.
+ */
+public interface ScopeHandler {
+
+    /**
+     * Called once per binding when the binding is created
+     *
+     * @return provider returning the scoped instances of key, created through unscoped
+     */
+    <T> Provider<T> scope(Key<T> key, Provider<T> unscoped);
+
+    /**
+     * Called once per binding when the binding is created, with the scope annotation found on the
+     * provider method or bound type, for handlers configured by annotation attributes
+     *
+     * @return provider returning the scoped instances of key, created through unscoped
+     */
+    default <T> Provider<T> scope(Key<T> key, Provider<T> unscoped, Annotation annotation) {
+        return scope(key, unscoped);
+    }
+
+}
@@ -0,0 +1,48 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Built-in scope handlers
+ */
+public final class Scopes {
+
+    /**
+     * One instance per binding, created on first use
+     */
+    public static final ScopeHandler SINGLETON = new ScopeHandler() {
+        @Override
+        public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+            return new SingletonProvider<>(unscoped);
+        }
+    };
+
+    /**
+     * One instance per binding and thread
+     */
+    public static final ScopeHandler THREAD = new ScopeHandler() {
+        @Override
+        public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+            ThreadLocal<T> instances = ThreadLocal.withInitial(unscoped::get);
+            return instances::get;
+        }
+    };
+
+    /**
+     * One instance per binding and request, see {@link RequestScope}
+     */
+    public static final ScopeHandler REQUEST = new RequestScope();
+
+    /**
+     * Instances borrowed from a bounded pool per binding, see {@link xyz.juliandev.easy.annotations.Pooled}
+     */
+    public static final ScopeHandler POOLED = new PooledScope();
+
+    /**
+     * @return a new handler for {@link xyz.juliandev.easy.annotations.Cached}, holding its own size-bounded regions.
+     * Every injector created with it starts with a fresh copy, regions are never shared between injectors
+     */
+    public static ScopeHandler cached() {
+        return new CachedScope();
+    }
+
+    private Scopes() {}
+}
@@ -0,0 +1,30 @@
+package xyz.juliandev.easy.injector;
+
+/**
+ * Lazily created singleton of a single binding.
+ * Initialization locks only this binding, later reads are a single volatile load.
+ */
+final class SingletonProvider<T> implements Provider<T> {
+
+    private final Provider<T> provider;
+    private volatile T instance;
+
+    SingletonProvider(Provider<T> provider) {
+        this.provider = provider;
+    }
+
+    @Override
+    public T get() {
+        T result = instance;
+        if (result == null) {
+            synchronized (this) {
+                result = instance;
+                if (result == null) {
+                    result = provider.get();
+                    instance = result;
+                }
+            }
+        }
+        return result;
+    }
+}
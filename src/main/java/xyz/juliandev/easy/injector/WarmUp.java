@@ -0,0 +1,40 @@
+package xyz.juliandev.easy.injector;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Instantiates every singleton of a binding graph up front.
+ * Bindings are scheduled in dependency order, independent subgraphs run in parallel on the executor.
+ * Deferred dependencies (Provider, Lazy, async) don't order or extend the graph.
+ */
+final class WarmUp {
+
+    private WarmUp() {}
+
+    static void run(Collection<Binding<?>> roots, Function<Key<?>, Binding<?>> resolver, Executor executor) {
+        List<Binding<?>> order = BindingGraph.order(BindingGraph.reachable(roots, resolver, false));
+        Map<Key<?>, CompletableFuture<Void>> futures = new HashMap<>();
+        for (Binding<?> binding : order) {
+            List<CompletableFuture<Void>> dependencies = new ArrayList<>();
+            for (Dependency dependency : binding.getDependencies()) {
+                if (!dependency.isDeferred()) {
+                    dependencies.add(futures.get(dependency.getKey()));
+                }
+            }
+            CompletableFuture<Void> ready = CompletableFuture.allOf(dependencies.toArray(new CompletableFuture<?>[0]));
+            futures.put(binding.getKey(), binding.isSingleton() ?
+                    ready.thenRunAsync(() -> binding.getProvider().get(), executor) :
+                    ready);
+        }
+        try {
+            CompletableFuture.allOf(futures.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof EasyInjectorRuntimeException cause ? cause :
+                    new EasyInjectorRuntimeException("Warm up failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class AllocationTest {
+    private static final int WARM_UP = 50_000;
+    private static final int ITERATIONS = 100_000;
+
+    private static volatile Object sink;
+
+    @Test
+    public void constructorAllocatesOnlyInstances() {
+        EasyInjector easyInjector = Easy.createInjector(new Module());
+        Shared shared = easyInjector.getInstance(Shared.class);
+        String name = easyInjector.getInstance(String.class);
+        assertNoExtraAllocation(
+                () -> sink = easyInjector.getInstance(Root.class),
+                () -> sink = new Root(new Leaf(), shared, name));
+    }
+
+    @Test
+    public void providerMethodAllocatesOnlyInstances() {
+        EasyInjector easyInjector = Easy.createInjector(new Module());
+        Shared shared = easyInjector.getInstance(Shared.class);
+        assertNoExtraAllocation(
+                () -> sink = easyInjector.getInstance(Provided.class),
+                () -> sink = new Provided(new Leaf(), shared));
+    }
+
+    @Test
+    public void noArgConstructorAllocatesOnlyInstance() {
+        EasyInjector easyInjector = Easy.createInjector();
+        assertNoExtraAllocation(
+                () -> sink = easyInjector.getInstance(Leaf.class),
+                () -> sink = new Leaf());
+    }
+
+    private static void assertNoExtraAllocation(Runnable injected, Runnable direct) {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        double injectedBytes = bytesPerCall(threads, injected);
+        double directBytes = bytesPerCall(threads, direct);
+        assertTrue(String.format("getInstance allocated %.1f bytes per call, constructors alone %.1f", injectedBytes, directBytes),
+                injectedBytes - directBytes < 1);
+    }
+
+    private static double bytesPerCall(com.sun.management.ThreadMXBean threads, Runnable call) {
+        for (int i = 0; i < WARM_UP; ++i) {
+            call.run();
+        }
+        long thread = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < ITERATIONS; ++i) {
+            call.run();
+        }
+        return (threads.getThreadAllocatedBytes(thread) - before) / (double) ITERATIONS;
+    }
+
+    public static class Leaf {
+
+    }
+
+    @Singleton
+    public static class Shared {
+
+    }
+
+    public static class Root {
+        private final Leaf leaf;
+        private final Shared shared;
+        private final String name;
+
+        @Inject
+        public Root(Leaf leaf, Shared shared, String name) {
+            this.leaf = leaf;
+            this.shared = shared;
+            this.name = name;
+        }
+    }
+
+    public static class Provided {
+        private final Leaf leaf;
+        private final Shared shared;
+
+        public Provided(Leaf leaf, Shared shared) {
+            this.leaf = leaf;
+            this.shared = shared;
+        }
+    }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Singleton
+        String name() {
+            return "name";
+        }
+
+        @Provides
+        Provided provided(Leaf leaf, Shared shared) {
+            return new Provided(leaf, shared);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Cached;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CachedScopeTest {
+
+    @Test
+    public void instanceIsKeptUntilExpired() throws Exception {
+        EasyInjector easyInjector = Easy.createInjector();
+        Report report = easyInjector.getInstance(Report.class);
+        assertSame(report, easyInjector.getInstance(Report.class));
+        assertTrue(eventually(() -> easyInjector.getInstance(Report.class) != report));
+    }
+
+    @Test
+    public void qualifiedVariantsAreCachedSeparately() {
+        EasyInjector easyInjector = Easy.createInjector(new ConfigModule());
+        Config first = easyInjector.getInstance(Key.of(Config.class, "first"));
+        Config second = easyInjector.getInstance(Key.of(Config.class, "second"));
+        assertNotSame(first, second);
+        assertSame(first, easyInjector.getInstance(Key.of(Config.class, "first")));
+        assertSame(second, easyInjector.getInstance(Key.of(Config.class, "second")));
+    }
+
+    @Test
+    public void oldestVariantIsDroppedBeyondMaxSize() throws Exception {
+        EasyInjector easyInjector = Easy.createInjector(new ConfigModule());
+        Config first = easyInjector.getInstance(Key.of(Config.class, "first"));
+        easyInjector.getInstance(Key.of(Config.class, "second"));
+        Config third = easyInjector.getInstance(Key.of(Config.class, "third"));
+
+        assertTrue(eventually(() -> easyInjector.getInstance(Key.of(Config.class, "first")) != first));
+        assertSame(third, easyInjector.getInstance(Key.of(Config.class, "third")));
+    }
+
+    @Test
+    public void injectorsDontShareInstances() {
+        Key<Config> key = Key.of(Config.class, "first");
+        assertNotSame(Easy.createInjector(new ConfigModule()).getInstance(key), Easy.createInjector(new ConfigModule()).getInstance(key));
+    }
+
+    @Test
+    public void injectorsFromTheSameOptionsHaveTheirOwnRegions() throws Exception {
+        InjectorOptions options = InjectorOptions.defaults();
+        EasyInjector first = Easy.createInjector(options, new ConfigModule());
+        EasyInjector second = Easy.createInjector(options, new ConfigModule());
+        Config kept = first.getInstance(Key.of(Config.class, "first"));
+        Config dropped = second.getInstance(Key.of(Config.class, "first"));
+        second.getInstance(Key.of(Config.class, "second"));
+        second.getInstance(Key.of(Config.class, "third"));
+
+        assertTrue(eventually(() -> second.getInstance(Key.of(Config.class, "first")) != dropped));
+        assertSame(kept, first.getInstance(Key.of(Config.class, "first")));
+    }
+
+    @Test
+    public void softInstanceIsKeptWhileReachable() {
+        EasyInjector easyInjector = Easy.createInjector(new ConfigModule());
+        Config soft = easyInjector.getInstance(Key.of(Config.class, "soft"));
+        assertSame(soft, easyInjector.getInstance(Key.of(Config.class, "soft")));
+    }
+
+    @Test
+    public void closeDropsInstances() {
+        EasyInjector easyInjector = Easy.createInjector();
+        Report report = easyInjector.getInstance(Report.class);
+        easyInjector.close();
+        assertNotSame(report, easyInjector.getInstance(Report.class));
+    }
+
+    @Test
+    public void discardedInjectorIsCollected() throws Exception {
+        InjectorOptions options = InjectorOptions.defaults();
+        WeakReference<Ledger> ledger = new WeakReference<>(Easy.createInjector(options).getInstance(Ledger.class));
+        assertTrue(eventually(() -> {
+            System.gc();
+            return ledger.get() == null;
+        }));
+        Reference.reachabilityFence(options);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    @Cached(expireAfter = 50, unit = TimeUnit.MILLISECONDS)
+    public static class Report {
+
+    }
+
+    @Cached(expireAfter = 1, unit = TimeUnit.HOURS)
+    public static class Ledger {
+
+    }
+
+    public static class Config {
+
+    }
+
+    public static class ConfigModule extends AbstractModule {
+        @Provides
+        @Named("first")
+        @Cached(maxSize = 2, expireAfter = 0)
+        Config first() {
+            return new Config();
+        }
+
+        @Provides
+        @Named("second")
+        @Cached(maxSize = 2, expireAfter = 0)
+        Config second() {
+            return new Config();
+        }
+
+        @Provides
+        @Named("third")
+        @Cached(maxSize = 2, expireAfter = 0)
+        Config third() {
+            return new Config();
+        }
+
+        @Provides
+        @Named("soft")
+        @Cached(maxSize = 8, soft = true)
+        Config soft() {
+            return new Config();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class ChildInjectorTest {
+
+    @Test
+    public void childSharesParentSingletons() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        Shared shared = parent.getInstance(Shared.class);
+        EasyInjector first = parent.createChildInjector(new TenantModule("first"));
+        EasyInjector second = parent.createChildInjector(new TenantModule("second"));
+
+        assertSame(shared, first.getInstance(Shared.class));
+        assertSame(shared, second.getInstance(Shared.class));
+        assertSame(parent.getInstance(Service.class), first.getInstance(Service.class));
+        assertEquals("first", first.getInstance(Tenant.class).name);
+        assertEquals("second", second.getInstance(Tenant.class).name);
+    }
+
+    @Test
+    public void childBindingsStayInChild() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        parent.createChildInjector(new TenantModule("first")).getInstance(Tenant.class);
+        try {
+            parent.getInstance(Tenant.class);
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void justInTimeBindingCreatedInParent() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        Service service = parent.createChildInjector(new TenantModule("first")).getInstance(Service.class);
+        assertSame(service, parent.createChildInjector(new TenantModule("second")).getInstance(Service.class));
+        assertSame(service, parent.getInstance(Service.class));
+    }
+
+    @Test
+    public void justInTimeBindingOnChildKeyCreatedInChild() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        EasyInjector first = parent.createChildInjector(new TenantModule("first"));
+        EasyInjector second = parent.createChildInjector(new TenantModule("second"));
+
+        TenantService firstService = first.getInstance(TenantService.class);
+        assertSame(firstService, first.getInstance(TenantService.class));
+        assertNotSame(firstService, second.getInstance(TenantService.class));
+        assertEquals("first", firstService.tenant.name);
+        assertEquals("second", second.getInstance(TenantService.class).tenant.name);
+        assertSame(parent.getInstance(Shared.class), firstService.shared);
+    }
+
+    @Test
+    public void justInTimeBindingOnChildKeyNotPublishedInParent() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        EasyInjector child = parent.createChildInjector(new TenantModule("first"));
+        assertEquals("first", child.getInstance(TenantService.class).tenant.name);
+        parent.validate();
+        parent.warmUp();
+        parent.freeze();
+    }
+
+    @Test
+    public void childOverridesParentJustInTimeDependency() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        assertEquals("default", parent.getInstance(Greeter.class).greeting.text);
+        EasyInjector child = parent.createChildInjector(new AbstractModule() {
+            @Provides
+            Greeting greeting() {
+                return new Greeting("child");
+            }
+        });
+        assertEquals("child", child.getInstance(Greeter.class).greeting.text);
+        assertEquals("default", parent.getInstance(Greeter.class).greeting.text);
+    }
+
+    @Test
+    public void childSeesParentModuleChanges() {
+        AbstractModule first = new ValueModule("first");
+        EasyInjector parent = Easy.createInjector(first);
+        EasyInjector child = parent.createChildInjector();
+        assertEquals("first", child.getInstance(Holder.class).value);
+
+        parent.replaceModule(first, new ValueModule("second"));
+        assertEquals("second", child.getInstance(Holder.class).value);
+    }
+
+    @Test
+    public void grandchildDelegatesThroughChild() {
+        EasyInjector parent = Easy.createInjector(new SharedModule());
+        EasyInjector child = parent.createChildInjector(new TenantModule("first"));
+        EasyInjector grandchild = child.createChildInjector();
+        assertSame(parent.getInstance(Shared.class), grandchild.getInstance(Shared.class));
+        assertSame(child.getInstance(TenantService.class), grandchild.getInstance(TenantService.class));
+    }
+
+    @Singleton
+    public static class Shared {
+
+    }
+
+    @Singleton
+    public static class Service {
+        private final Shared shared;
+
+        @Inject
+        public Service(Shared shared) {
+            this.shared = shared;
+        }
+    }
+
+    public static class Tenant {
+        private final String name;
+
+        public Tenant(String name) {
+            this.name = name;
+        }
+    }
+
+    @Singleton
+    public static class TenantService {
+        private final Tenant tenant;
+        private final Shared shared;
+
+        @Inject
+        public TenantService(Tenant tenant, Shared shared) {
+            this.tenant = tenant;
+            this.shared = shared;
+        }
+    }
+
+    public static class Greeting {
+        private final String text;
+
+        public Greeting() {
+            this("default");
+        }
+
+        public Greeting(String text) {
+            this.text = text;
+        }
+    }
+
+    public static class Greeter {
+        private final Greeting greeting;
+
+        @Inject
+        public Greeter(Greeting greeting) {
+            this.greeting = greeting;
+        }
+    }
+
+    public static class Holder {
+        private final String value;
+
+        @Inject
+        public Holder(String value) {
+            this.value = value;
+        }
+    }
+
+    public static class SharedModule extends AbstractModule {
+        @Provides
+        @Singleton
+        Shared shared() {
+            return new Shared();
+        }
+    }
+
+    public static class TenantModule extends AbstractModule {
+        private final String name;
+
+        public TenantModule(String name) {
+            this.name = name;
+        }
+
+        @Provides
+        @Singleton
+        Tenant tenant() {
+            return new Tenant(name);
+        }
+    }
+
+    public static class ValueModule extends AbstractModule {
+        private final String value;
+
+        public ValueModule(String value) {
+            this.value = value;
+        }
+
+        @Provides
+        String value() {
+            return value;
+        }
+    }
+}
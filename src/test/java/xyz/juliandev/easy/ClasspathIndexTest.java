@@ -0,0 +1,108 @@
+package xyz.juliandev.easy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class ClasspathIndexTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void indexesOfAllJarsAreMerged() throws Exception {
+        File first = index("""
+                # Generated
+                module xyz.juliandev.easy.ClasspathIndexTest$FirstModule
+                inject xyz.juliandev.easy.ClasspathIndexTest$Service java.lang.Integer
+                inject xyz.juliandev.easy.ClasspathIndexTest$Service xyz.juliandev.easy.ClasspathIndexTest$Dependency
+                """);
+        File second = index("""
+                module xyz.juliandev.easy.ClasspathIndexTest$SecondModule
+                module xyz.juliandev.easy.ClasspathIndexTest$Dependency
+                module com.example.RemovedModule
+                """);
+        EasyInjector easyInjector = withContextLoader(first, second);
+
+        assertEquals("first", easyInjector.getInstance(Key.of(String.class, "first")));
+        assertEquals("second", easyInjector.getInstance(Key.of(String.class, "second")));
+        Service service = easyInjector.getInstance(Service.class);
+        assertSame(Dependency.class, service.dependency.getClass());
+    }
+
+    @Test
+    public void noIndex() throws Exception {
+        EasyInjector easyInjector = withContextLoader(folder.newFolder());
+        assertSame(Dependency.class, easyInjector.getInstance(Service.class).dependency.getClass());
+    }
+
+    private File index(String content) throws Exception {
+        File root = folder.newFolder();
+        Path index = root.toPath().resolve("META-INF/easyinject/index");
+        Files.createDirectories(index.getParent());
+        Files.writeString(index, content);
+        return root;
+    }
+
+    private EasyInjector withContextLoader(File... roots) throws Exception {
+        URL[] urls = new URL[roots.length];
+        for (int i = 0; i < roots.length; ++i) {
+            urls[i] = roots[i].toURI().toURL();
+        }
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(urls, getClass().getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            return Easy.createInjectorFromIndex();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    public static class Dependency {
+
+    }
+
+    public static class Service {
+        private final Dependency dependency;
+
+        public Service() {
+            this(null);
+        }
+
+        @Inject
+        public Service(Dependency dependency) {
+            this.dependency = dependency;
+        }
+    }
+
+    public static class FirstModule extends AbstractModule {
+        @Provides
+        @Named("first")
+        String first() {
+            return "first";
+        }
+    }
+
+    public static class SecondModule extends AbstractModule {
+        @Provides
+        @Named("second")
+        String second() {
+            return "second";
+        }
+    }
+}
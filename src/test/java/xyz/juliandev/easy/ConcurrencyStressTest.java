@@ -0,0 +1,107 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConcurrencyStressTest {
+    private static final int THREADS = 16;
+    private static final int ROUNDS = 50;
+
+    @Test(timeout = 60_000)
+    public void coldSingletonCreatedOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                SharedSingleton.created.set(0);
+                EasyInjector easyInjector = Easy.createInjector();
+                Set<Object> instances = ConcurrentHashMap.newKeySet();
+                hammer(executor, () -> instances.add(easyInjector.getInstance(Root.class).shared));
+                assertEquals(1, SharedSingleton.created.get());
+                assertEquals(1, instances.size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(timeout = 60_000)
+    public void coldDistinctKeys() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                EasyInjector easyInjector = Easy.createInjector();
+                AtomicInteger next = new AtomicInteger();
+                Class<?>[] types = {Root.class, Left.class, Right.class, SharedSingleton.class};
+                Set<Object> singletons = ConcurrentHashMap.newKeySet();
+                hammer(executor, () -> {
+                    easyInjector.getInstance(types[next.getAndIncrement() % types.length]);
+                    singletons.add(easyInjector.getInstance(SharedSingleton.class));
+                });
+                assertEquals(1, singletons.size());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void hammer(ExecutorService executor, Runnable task) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            futures.add(executor.submit(() -> {
+                barrier.await();
+                for (int j = 0; j < 100; j++) {
+                    task.run();
+                }
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    @Singleton
+    public static class SharedSingleton {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public SharedSingleton() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class Left {
+        @Inject
+        public Left(SharedSingleton shared) {
+        }
+    }
+
+    public static class Right {
+        @Inject
+        public Right(SharedSingleton shared, Left left) {
+        }
+    }
+
+    public static class Root {
+        final SharedSingleton shared;
+
+        @Inject
+        public Root(Left left, Right right, SharedSingleton shared) {
+            this.shared = shared;
+        }
+    }
+}
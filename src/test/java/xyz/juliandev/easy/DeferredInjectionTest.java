@@ -0,0 +1,109 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.AsyncProvider;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Lazy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeferredInjectionTest {
+    @Test
+    public void lazyCreatedOnFirstUseOncePerInjectionPoint() {
+        Heavy.created.set(0);
+        EasyInjector easyInjector = Easy.createInjector();
+        LazyConsumer first = easyInjector.getInstance(LazyConsumer.class);
+        LazyConsumer second = easyInjector.getInstance(LazyConsumer.class);
+        assertEquals(0, Heavy.created.get());
+        assertSame(first.heavy.get(), first.heavy.get());
+        assertEquals(1, Heavy.created.get());
+        assertNotSame(first.heavy.get(), second.heavy.get());
+        assertEquals(2, Heavy.created.get());
+    }
+
+    @Test
+    public void lazyFieldInjection() {
+        LazyFields fields = new LazyFields();
+        Easy.createInjector().injectObjectFields(fields);
+        assertSame(fields.shared.get(), fields.shared.get());
+    }
+
+    @Test
+    public void futureDoesNotBlockConstructor() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "easy-async"));
+        try {
+            Slow.release = new CountDownLatch(1);
+            EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().asyncExecutor(executor));
+            FutureConsumer consumer = easyInjector.getInstance(FutureConsumer.class);
+            assertFalse(consumer.slow.isDone());
+            Slow.release.countDown();
+            Slow slow = consumer.slow.get(5, TimeUnit.SECONDS);
+            assertEquals("easy-async", slow.thread);
+            assertSame(slow, consumer.slowProvider.get().get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    public static class Heavy {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public Heavy() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class LazyConsumer {
+        final Lazy<Heavy> heavy;
+
+        @Inject
+        public LazyConsumer(Lazy<Heavy> heavy) {
+            this.heavy = heavy;
+        }
+    }
+
+    @Singleton
+    public static class Shared {
+    }
+
+    public static class LazyFields {
+        @Inject
+        Lazy<Shared> shared;
+    }
+
+    @Singleton
+    public static class Slow {
+        static CountDownLatch release;
+        final String thread;
+
+        public Slow() throws InterruptedException {
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            thread = Thread.currentThread().getName();
+        }
+    }
+
+    public static class FutureConsumer {
+        final CompletableFuture<Slow> slow;
+        final AsyncProvider<Slow> slowProvider;
+
+        @Inject
+        public FutureConsumer(CompletableFuture<Slow> slow, AsyncProvider<Slow> slowProvider) {
+            this.slow = slow;
+            this.slowProvider = slowProvider;
+        }
+    }
+}
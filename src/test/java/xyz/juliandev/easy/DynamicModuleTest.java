@@ -2,11 +2,31 @@ package xyz.juliandev.easy;
 
 import org.junit.Test;
 import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.IntoSet;
 import xyz.juliandev.easy.annotations.Named;
 import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Qualifier;
 import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Provider;
 import xyz.juliandev.easy.module.AbstractModule;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.ref.Reference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
 public class DynamicModuleTest {
 
     @Test
@@ -33,6 +53,166 @@ public class DynamicModuleTest {
 
     }
 
+    @Test
+    public void replaceModule() {
+        AbstractModule first = new ValueModule("first");
+        EasyInjector injector = Easy.createInjector(first);
+        Provider<Holder> holder = injector.getProvider(Holder.class);
+        assertEquals("first", holder.get().value);
+
+        AbstractModule second = new ValueModule("second");
+        injector.replaceModule(first, second);
+        assertEquals("second", holder.get().value);
+        assertEquals("second", injector.getInstance(Key.of(CharSequence.class, "value")));
+
+        injector.removeModule(second);
+        try {
+            injector.getInstance(Key.of(CharSequence.class, "value"));
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void failedRegistrationLeavesNoPartialState() {
+        EasyInjector injector = Easy.createInjector(new ValueModule("value"));
+        try {
+            injector.addDynamicModule(new AbstractModule() {
+                @Provides
+                @Named("other")
+                CharSequence other() {
+                    return "other";
+                }
+
+                @Provides
+                @Named("value")
+                CharSequence value() {
+                    return "duplicate";
+                }
+            });
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+        assertEquals("value", injector.getInstance(Key.of(CharSequence.class, "value")));
+        try {
+            injector.getInstance(Key.of(CharSequence.class, "other"));
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void removedModuleLoaderIsCollected() throws Exception {
+        EasyInjector injector = Easy.createInjector();
+        WeakReference<ClassLoader> loader = plugin(injector);
+        assertTrue(eventually(() -> {
+            System.gc();
+            return loader.get() == null;
+        }));
+        Reference.reachabilityFence(injector);
+    }
+
+    /**
+     * Adds and removes PluginModule loaded by a class loader of its own, the module class is the only reference to it
+     */
+    @SuppressWarnings("unchecked")
+    private static WeakReference<ClassLoader> plugin(EasyInjector injector) throws Exception {
+        ClassLoader loader = new PluginLoader();
+        AbstractModule module = (AbstractModule) loader.loadClass(PluginModule.class.getName()).getDeclaredConstructor().newInstance();
+        Class<? extends Annotation> qualifier = (Class<? extends Annotation>) loader.loadClass(PluginQualifier.class.getName());
+        assertNotSame(PluginQualifier.class, qualifier);
+        injector.addDynamicModule(module);
+        Class<?> service = loader.loadClass(PluginService.class.getName());
+        assertEquals("plugin", injector.getInstance(Key.of(String.class, qualifier)));
+        assertEquals(1, injector.getInstance(Key.ofSet(service)).size());
+        injector.removeModule(module);
+        return new WeakReference<>(loader);
+    }
+
+    private static boolean eventually(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                return false;
+            }
+            Thread.sleep(10);
+        }
+        return true;
+    }
+
+    /**
+     * Defines the Plugin classes of this test itself and delegates everything else
+     */
+    private static final class PluginLoader extends ClassLoader {
+        private PluginLoader() {
+            super(DynamicModuleTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(DynamicModuleTest.class.getName() + "$Plugin") || name.endsWith("$PluginLoader")) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded != null) {
+                    return loaded;
+                }
+                try (InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class")) {
+                    byte[] bytes = in.readAllBytes();
+                    return defineClass(name, bytes, 0, bytes.length);
+                } catch (IOException e) {
+                    throw new ClassNotFoundException(name, e);
+                }
+            }
+        }
+    }
+
+    @Qualifier
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface PluginQualifier {
+    }
+
+    public static class PluginService {
+    }
+
+    public static class PluginModule extends AbstractModule {
+        @Provides
+        @PluginQualifier
+        String plugin() {
+            return "plugin";
+        }
+
+        @Provides
+        @IntoSet
+        PluginService service() {
+            return new PluginService();
+        }
+    }
+
+    public static class ValueModule extends AbstractModule {
+        private final String value;
+
+        public ValueModule(String value) {
+            this.value = value;
+        }
+
+        @Provides
+        @Named("value")
+        CharSequence value() {
+            return value;
+        }
+    }
+
+    public static class Holder {
+        final CharSequence value;
+
+        @Inject
+        public Holder(@Named("value") CharSequence value) {
+            this.value = value;
+        }
+    }
+
     public record TestObj(@Named("foo") String foo, @Named("bar") String bar) {
         @Inject
         public TestObj {}
@@ -0,0 +1,102 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class FactoryTest {
+    @Test
+    public void privateConstructor() {
+        EasyInjector easyInjector = Easy.createInjector();
+        assertNotNull(easyInjector.getInstance(Hidden.class).plain);
+    }
+
+    @Test
+    public void staticProviderMethod() {
+        EasyInjector easyInjector = Easy.createInjector(new StaticModule());
+        assertEquals("static", easyInjector.getInstance(String.class));
+    }
+
+    @Test
+    public void constructorFailureWrapped() {
+        EasyInjector easyInjector = Easy.createInjector();
+        try {
+            easyInjector.getInstance(Failing.class);
+            fail();
+        } catch (EasyInjectorRuntimeException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test(expected = AssertionError.class)
+    public void constructorErrorNotWrapped() {
+        Easy.createInjector().getInstance(Erroneous.class);
+    }
+
+    @Test
+    public void sameResultsBeforeAndAfterSwitchingToHandles() {
+        EasyInjector easyInjector = Easy.createInjector(new StaticModule());
+        for (int i = 0; i < 50; ++i) {
+            assertNotNull(easyInjector.getInstance(Hidden.class).plain);
+            assertEquals("static", easyInjector.getInstance(String.class));
+            try {
+                easyInjector.getInstance(Failing.class);
+                fail();
+            } catch (EasyInjectorRuntimeException e) {
+                assertTrue(e.getCause() instanceof IllegalStateException);
+            }
+        }
+    }
+
+    @Test(expected = AssertionError.class)
+    public void providerMethodErrorNotWrapped() {
+        Easy.createInjector(new ErroneousModule()).getInstance(Integer.class);
+    }
+
+    public static class Plain {
+
+    }
+
+    public static class Hidden {
+        private final Plain plain;
+
+        @Inject
+        private Hidden(Plain plain) {
+            this.plain = plain;
+        }
+    }
+
+    public static class Failing {
+        public Failing() {
+            throw new IllegalStateException("fail");
+        }
+    }
+
+    public static class Erroneous {
+        public Erroneous() {
+            throw new AssertionError("error");
+        }
+    }
+
+    public static class ErroneousModule extends AbstractModule {
+        @Provides
+        Integer value() {
+            throw new AssertionError("error");
+        }
+    }
+
+    public static class StaticModule extends AbstractModule {
+        @Provides
+        static String value() {
+            return "static";
+        }
+    }
+}
@@ -1,10 +1,23 @@
 package xyz.juliandev.easy;
 
 import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
 import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.InjectionStrategy;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.module.AbstractModule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 public class FieldInjectionTest {
     @Test
@@ -15,13 +28,67 @@ public class FieldInjectionTest {
         assertNotNull(target.a);
     }
 
+    @Test
+    public void inheritedProviderAndQualifiedFieldsInjected() {
+        EasyInjector easyInjector = Easy.createInjector(new Module());
+        for (int i = 0; i < 2; i++) {
+            SubTarget target = new SubTarget();
+            assertTrue(easyInjector.injectObjectFields(target));
+            assertNotNull(((Target) target).a);
+            assertNotNull(target.aProvider.get());
+            assertEquals("name", target.name);
+        }
+    }
+
+    @Test
+    public void batchInjectedInParallel() {
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().injectionStrategy(InjectionStrategy.parallel(2)), new Module());
+        List<SubTarget> targets = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            targets.add(new SubTarget());
+        }
+        assertTrue(easyInjector.injectObjectFields(targets));
+        for (SubTarget target : targets) {
+            assertEquals("name", target.name);
+        }
+    }
+
+    @Test
+    public void fieldsInjectedOnExecutor() {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().injectionStrategy(InjectionStrategy.executor(executor, 1)), new Module());
+            SubTarget target = new SubTarget();
+            assertTrue(easyInjector.injectObjectFields(target));
+            assertNotNull(((Target) target).a);
+            assertEquals("name", target.name);
+        } finally {
+            executor.shutdown();
+        }
+    }
 
     public static class Target {
         @Inject
         private A a;
     }
 
+    public static class SubTarget extends Target {
+        @Inject
+        private Provider<A> aProvider;
+        @Inject
+        @Named("name")
+        private String name;
+    }
+
     public static class A {
 
     }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Named("name")
+        String name() {
+            return "name";
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+public class FrozenInjectorTest {
+    @Test
+    public void moduleGraphResolved() {
+        EasyInjector easyInjector = Easy.createFrozenInjector(new Module());
+        assertEquals("foo", easyInjector.getInstance(Key.of(String.class, "foo")));
+        assertNotNull(easyInjector.getInstance(Dependency.class));
+        assertSame(easyInjector.getInstance(Shared.class), easyInjector.getInstance(Shared.class));
+    }
+
+    @Test
+    public void rootsResolved() {
+        EasyInjector easyInjector = Easy.createFrozenInjector(List.of(new Module()), Root.class);
+        assertSame(easyInjector.getInstance(Shared.class), easyInjector.getInstance(Root.class).shared);
+    }
+
+    @Test
+    public void laterModuleChangesDontReachFrozenInjector() {
+        Greeting hello = new Greeting("hello");
+        EasyInjector easyInjector = Easy.createInjector(hello);
+        EasyInjector frozen = easyInjector.freeze(Greeter.class);
+        easyInjector.replaceModule(hello, new Greeting("bye"));
+        assertEquals("bye", easyInjector.getInstance(Greeter.class).greeting);
+        assertEquals("hello", frozen.getInstance(Greeter.class).greeting);
+    }
+
+    @Test
+    public void singletonsSharedWithSource() {
+        EasyInjector easyInjector = Easy.createInjector(new Module());
+        EasyInjector frozen = easyInjector.freeze(Root.class);
+        assertSame(easyInjector.getInstance(Shared.class), frozen.getInstance(Root.class).shared);
+    }
+
+    @Test
+    public void deferredDependencyResolvedInFrozenGraph() {
+        EasyInjector easyInjector = Easy.createFrozenInjector(List.of(), Deferred.class);
+        Deferred deferred = easyInjector.getInstance(Deferred.class);
+        assertSame(easyInjector.getInstance(Shared.class), deferred.shared.get().shared);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void unboundKeyRejected() {
+        Easy.createFrozenInjector(new Module()).getInstance(Root.class);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void dynamicModuleRejected() {
+        Easy.createFrozenInjector().addDynamicModule(new Module());
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void missingBindingFailsFreeze() {
+        Easy.createFrozenInjector(List.of(), Unbindable.class);
+    }
+
+    public static class Dependency {
+    }
+
+    @Singleton
+    public static class Shared {
+    }
+
+    public static class Root {
+        final Shared shared;
+
+        @Inject
+        public Root(Shared shared) {
+            this.shared = shared;
+        }
+    }
+
+    public static class Deferred {
+        final Provider<Root> shared;
+
+        @Inject
+        public Deferred(Provider<Root> shared) {
+            this.shared = shared;
+        }
+    }
+
+    public static class Greeter {
+        final String greeting;
+
+        @Inject
+        public Greeter(String greeting) {
+            this.greeting = greeting;
+        }
+    }
+
+    public static class Greeting extends AbstractModule {
+        private final String greeting;
+
+        Greeting(String greeting) {
+            this.greeting = greeting;
+        }
+
+        @Provides
+        String greeting() {
+            return greeting;
+        }
+    }
+
+    public static class Unbindable {
+        @Inject
+        public Unbindable(Runnable runnable) {
+        }
+    }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Named("foo")
+        String foo(Dependency dependency, Shared shared) {
+            return "foo";
+        }
+    }
+}
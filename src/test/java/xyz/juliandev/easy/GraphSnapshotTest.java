@@ -0,0 +1,139 @@
+package xyz.juliandev.easy;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GraphSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writtenOnFirstBootAndReused() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("graph.bin");
+        verify(Easy.createInjector(snapshot, new Module()));
+        assertTrue(Files.exists(snapshot));
+
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(snapshot, old);
+        byte[] written = Files.readAllBytes(snapshot);
+        verify(Easy.createInjector(snapshot, new Module()));
+        assertEquals(old, Files.getLastModifiedTime(snapshot));
+        assertArrayEquals(written, Files.readAllBytes(snapshot));
+    }
+
+    @Test
+    public void recompiledClassInvalidatesSnapshot() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("graph.bin");
+        verify(Easy.createInjector(snapshot, new Module()));
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(snapshot, old);
+
+        Path classFile = Path.of(Repository.class.getResource("GraphSnapshotTest$Repository.class").toURI());
+        FileTime compiled = Files.getLastModifiedTime(classFile);
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(compiled.toMillis() + 1000));
+        try {
+            verify(Easy.createInjector(snapshot, new Module()));
+        } finally {
+            Files.setLastModifiedTime(classFile, compiled);
+        }
+        assertNotEquals(old, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    public void classOutsideTheGraphKeepsSnapshot() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("graph.bin");
+        verify(Easy.createInjector(snapshot, new Module()));
+        FileTime old = FileTime.fromMillis(0);
+        Files.setLastModifiedTime(snapshot, old);
+
+        Path classFile = Path.of(Unrelated.class.getResource("GraphSnapshotTest$Unrelated.class").toURI());
+        FileTime compiled = Files.getLastModifiedTime(classFile);
+        Files.setLastModifiedTime(classFile, FileTime.fromMillis(compiled.toMillis() + 1000));
+        try {
+            verify(Easy.createInjector(snapshot, new Module()));
+        } finally {
+            Files.setLastModifiedTime(classFile, compiled);
+        }
+        assertEquals(old, Files.getLastModifiedTime(snapshot));
+    }
+
+    @Test
+    public void corruptSnapshotRebuilt() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("graph.bin");
+        byte[] garbage = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, 20};
+        Files.write(snapshot, garbage);
+        verify(Easy.createInjector(snapshot, new Module()));
+        assertNotEquals(garbage.length, Files.size(snapshot));
+    }
+
+    @Test
+    public void snapshotOfOtherModulesCompleted() throws Exception {
+        Path snapshot = folder.getRoot().toPath().resolve("graph.bin");
+        Easy.createInjector(snapshot);
+        long empty = Files.size(snapshot);
+        verify(Easy.createInjector(snapshot, new Module()));
+        assertTrue(Files.size(snapshot) > empty);
+    }
+
+    private void verify(EasyInjector easyInjector) {
+        Service service = easyInjector.getInstance(Service.class);
+        assertEquals("config", service.config);
+        assertSame(service.repository, easyInjector.getInstance(Repository.class));
+        assertSame(service.repository, service.repositoryProvider.get());
+        assertEquals(Integer.valueOf(8080), service.port);
+    }
+
+    @Singleton
+    public static class Repository {
+    }
+
+    public static class Unrelated {
+    }
+
+    public static class Service {
+        final String config;
+        final Integer port;
+        final Repository repository;
+        final Provider<Repository> repositoryProvider;
+
+        @Inject
+        Service(@Named("config") String config, Integer port, Repository repository, Provider<Repository> repositoryProvider) {
+            this.config = config;
+            this.port = port;
+            this.repository = repository;
+            this.repositoryProvider = repositoryProvider;
+        }
+    }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Named("config")
+        String config() {
+            return "config";
+        }
+
+        @Provides
+        Integer port(@Named("config") String config, Repository repository) {
+            return 8080;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.InjectorMetrics;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class InjectorMetricsTest {
+    @Test
+    public void histogramBuckets() {
+        InjectorMetrics metrics = new InjectorMetrics();
+        Key<Plain> key = Key.of(Plain.class);
+        metrics.instanceProvided(key, 0);
+        metrics.instanceProvided(key, 1);
+        metrics.instanceProvided(key, 1000);
+        InjectorMetrics.Stats stats = metrics.getProvisions().get(key);
+        assertEquals(3, stats.getCount());
+        assertEquals(1001, stats.getTotalNanos());
+        long[] histogram = stats.getHistogram();
+        assertEquals(1, histogram[0]);
+        assertEquals(1, histogram[1]);
+        assertEquals(1, histogram[10]);
+        assertEquals(3, Arrays.stream(histogram).sum());
+    }
+
+    @Test
+    public void injectorReportsEvents() {
+        assumeTrue(Boolean.getBoolean("xyz.juliandev.easy.instrumentation"));
+        InjectorMetrics metrics = new InjectorMetrics();
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().listener(metrics), new Module());
+        easyInjector.getInstance(Plain.class);
+        easyInjector.getInstance(Plain.class);
+        easyInjector.getInstance(Shared.class);
+        easyInjector.getInstance(Shared.class);
+        easyInjector.injectObjectFields(new Fields());
+
+        assertEquals(3, metrics.getConstructions().get(Key.of(Plain.class)).getCount());
+        assertEquals(1, metrics.getConstructions().get(Key.of(Shared.class)).getCount());
+        assertEquals(2, metrics.getProvisions().get(Key.of(Shared.class)).getCount());
+        assertTrue(metrics.getSingletonConstructionNanos().containsKey(Key.of(Shared.class)));
+        assertFalse(metrics.getSingletonConstructionNanos().containsKey(Key.of(Plain.class)));
+        assertTrue(metrics.getReflection().containsKey(Module.class));
+        assertTrue(metrics.getReflection().containsKey(Plain.class));
+        assertEquals(1, metrics.getFieldInjections().get(Fields.class).getCount());
+        assertTrue(metrics.getJustInTimeBindings() >= 1);
+    }
+
+    @Test
+    public void disabledWithoutListener() {
+        EasyInjector easyInjector = Easy.createInjector(new Module());
+        assertEquals("shared", easyInjector.getInstance(Shared.class).name);
+    }
+
+    public static class Plain {
+    }
+
+    public static class Shared {
+        final String name;
+
+        Shared(String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Fields {
+        @Inject
+        Plain plain;
+    }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Singleton
+        Shared shared() {
+            return new Shared("shared");
+        }
+    }
+}
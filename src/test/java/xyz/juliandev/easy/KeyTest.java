@@ -0,0 +1,27 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.injector.Key;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class KeyTest {
+    @Test
+    public void keysInterned() {
+        assertSame(Key.of(String.class), Key.of(String.class));
+        assertSame(Key.of(String.class), Key.of(String.class, (Class<Named>) null));
+        assertSame(Key.of(String.class, "a"), Key.of(String.class, "a"));
+        assertSame(Key.of(String.class, Named.class), Key.of(String.class, Named.class));
+    }
+
+    @Test
+    public void qualifiersDistinguishKeys() {
+        assertNotEquals(Key.of(String.class), Key.of(String.class, "a"));
+        assertNotEquals(Key.of(String.class, "a"), Key.of(String.class, "b"));
+        assertNotEquals(Key.of(String.class, "a"), Key.of(String.class, Named.class));
+        assertEquals(Key.of(String.class, "a").hashCode(), Key.of(String.class, "a").hashCode());
+    }
+}
@@ -0,0 +1,291 @@
+package xyz.juliandev.easy;
+
+import org.junit.Before;
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.PostConstruct;
+import xyz.juliandev.easy.annotations.PreDestroy;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LifecycleTest {
+
+    private static final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    @Before
+    public void clearEvents() {
+        events.clear();
+    }
+
+    @Test
+    public void postConstructRunsSuperclassFirst() {
+        EasyInjector easyInjector = Easy.createInjector();
+        easyInjector.getInstance(Service.class);
+        assertEquals(List.of("base", "service"), events);
+    }
+
+    @Test
+    public void privateHooksOfSuperclassesAreNotOverridden() {
+        EasyInjector easyInjector = Easy.createInjector();
+        easyInjector.getInstance(Shown.class);
+        assertEquals(List.of("hidden started", "shown started"), events);
+        events.clear();
+        easyInjector.close();
+        assertEquals(List.of("shown stopped", "hidden stopped"), events);
+    }
+
+    @Test
+    public void postConstructLeftToProviderMethods() {
+        EasyInjector easyInjector = Easy.createInjector(new ResourceModule());
+        easyInjector.getInstance(Key.of(Resource.class, "first"));
+        assertEquals(List.of(), events);
+    }
+
+    @Test
+    public void instanceReturnedByProviderMethodIsStartedAndClosedOnce() {
+        EasyInjector easyInjector = Easy.createInjector(new AliasModule());
+        Base service = easyInjector.getInstance(Base.class);
+        assertSame(easyInjector.getInstance(Service.class), service);
+        assertEquals(List.of("base", "service"), events);
+        events.clear();
+        easyInjector.close();
+        assertEquals(List.of("service destroyed", "database closed"), events);
+    }
+
+    @Test
+    public void componentsUsedByATimedOutComponentAreLeftOpen() {
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().closeTimeout(Duration.ofMillis(100)));
+        easyInjector.getInstance(Stuck.class);
+        try {
+            easyInjector.close();
+            fail();
+        } catch (EasyInjectorRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Stuck: not closed within 100 ms"));
+            assertTrue(e.getMessage(), e.getMessage().contains("Database: left open"));
+            assertTrue(e.getCause().getMessage(), e.getCause().getMessage().contains("not closed within"));
+        }
+        assertFalse(events.contains("database closed"));
+    }
+
+    @Test
+    public void dependentsAreClosedFirst() {
+        EasyInjector easyInjector = Easy.createInjector();
+        easyInjector.getInstance(Service.class);
+        events.clear();
+        easyInjector.close();
+        assertEquals(List.of("service destroyed", "database closed"), events);
+    }
+
+    @Test
+    public void closeIsIdempotent() {
+        EasyInjector easyInjector = Easy.createInjector();
+        easyInjector.getInstance(Database.class);
+        easyInjector.close();
+        easyInjector.close();
+        assertEquals(List.of("database closed"), events);
+    }
+
+    @Test
+    public void independentComponentsAreClosedInParallel() {
+        EasyInjector easyInjector = Easy.createInjector(new ResourceModule());
+        easyInjector.getInstance(Key.of(Resource.class, "first"));
+        easyInjector.getInstance(Key.of(Resource.class, "second"));
+        // Each resource waits for the other one to start closing
+        easyInjector.close();
+        assertTrue(events.contains("closed first"));
+        assertTrue(events.contains("closed second"));
+    }
+
+    @Test
+    public void slowComponentTimesOut() throws InterruptedException {
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().closeTimeout(Duration.ofMillis(100)), new ResourceModule());
+        easyInjector.getInstance(Key.of(Resource.class, "first"));
+        easyInjector.getInstance(Database.class);
+        try {
+            easyInjector.close();
+            fail();
+        } catch (EasyInjectorRuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("not closed within 100 ms"));
+        }
+        assertTrue(events.contains("database closed"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!events.contains("interrupted first") && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(events.contains("interrupted first"));
+    }
+
+    @Test
+    public void failuresAreReportedAfterClosingTheRest() {
+        EasyInjector easyInjector = Easy.createInjector();
+        easyInjector.getInstance(Faulty.class);
+        easyInjector.getInstance(Database.class);
+        try {
+            easyInjector.close();
+            fail();
+        } catch (EasyInjectorRuntimeException e) {
+            assertEquals("broken", e.getCause().getCause().getMessage());
+        }
+        assertTrue(events.contains("database closed"));
+    }
+
+    @Singleton
+    public static class Database implements AutoCloseable {
+        @Override
+        public void close() {
+            events.add("database closed");
+        }
+    }
+
+    public static class Repository {
+        @Inject
+        public Repository(Database database) {
+
+        }
+    }
+
+    public static class Base {
+        @PostConstruct
+        void start() {
+            events.add("base");
+        }
+    }
+
+    @Singleton
+    public static class Service extends Base {
+        @Inject
+        public Service(Repository repository) {
+
+        }
+
+        @PostConstruct
+        void ready() {
+            events.add("service");
+        }
+
+        @PreDestroy
+        void destroy() {
+            events.add("service destroyed");
+        }
+    }
+
+    public static class Hidden {
+        @PostConstruct
+        private void start() {
+            events.add("hidden started");
+        }
+
+        @PreDestroy
+        private void stop() {
+            events.add("hidden stopped");
+        }
+    }
+
+    @Singleton
+    public static class Shown extends Hidden {
+        @PostConstruct
+        void start() {
+            events.add("shown started");
+        }
+
+        @PreDestroy
+        void stop() {
+            events.add("shown stopped");
+        }
+    }
+
+    @Singleton
+    public static class Stuck {
+        @Inject
+        public Stuck(Database database) {
+
+        }
+
+        @PreDestroy
+        void destroy() throws InterruptedException {
+            Thread.sleep(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    public static class AliasModule extends AbstractModule {
+        @Provides
+        @Singleton
+        Base base(Service service) {
+            return service;
+        }
+    }
+
+    @Singleton
+    public static class Faulty {
+        @PreDestroy
+        void destroy() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    public static class Resource implements AutoCloseable {
+        private final String name;
+        private final CountDownLatch closing;
+
+        Resource(String name, CountDownLatch closing) {
+            this.name = name;
+            this.closing = closing;
+        }
+
+        @PostConstruct
+        void start() {
+            events.add("started " + name);
+        }
+
+        @Override
+        public void close() {
+            closing.countDown();
+            try {
+                if (!closing.await(5, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException(name + " was closed alone");
+                }
+                events.add("closed " + name);
+            } catch (InterruptedException e) {
+                events.add("interrupted " + name);
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public static class ResourceModule extends AbstractModule {
+        private final CountDownLatch closing = new CountDownLatch(2);
+
+        @Provides
+        @Singleton
+        @Named("first")
+        Resource first() {
+            return new Resource("first", closing);
+        }
+
+        @Provides
+        @Singleton
+        @Named("second")
+        Resource second() {
+            return new Resource("second", closing);
+        }
+    }
+}
@@ -1,10 +1,15 @@
 package xyz.juliandev.easy;
 
+import xyz.juliandev.easy.annotations.Named;
 import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.Key;
 import xyz.juliandev.easy.injector.EasyInjector;
 import xyz.juliandev.easy.module.AbstractModule;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 
 public class ModuleOverrideTest {
@@ -21,6 +26,65 @@ public class ModuleOverrideTest {
         assertEquals("bar", Easy.createInjector(new FooOverrideModule()).getInstance(String.class));
     }
 
+    @Test
+    public void sharedBaseModuleOverriddenInBetween() {
+        List<AbstractModule> modules = new ArrayList<>();
+        modules.add(new QualifiedFooModule("a"));
+        modules.add(new FooModule());
+        modules.add(new BazModule());
+        modules.add(new PlainStubOverrideModule());
+        EasyInjector easyInjector = Easy.createInjector(modules);
+        assertEquals("bar", easyInjector.getInstance(Key.of(String.class, "base")));
+        assertEquals(Integer.valueOf(2), easyInjector.getInstance(Integer.class));
+        assertEquals("a", easyInjector.getInstance(Key.of(String.class, "a")));
+        assertEquals("foo", easyInjector.getInstance(String.class));
+        assertEquals(PlainStub.class, easyInjector.getInstance(Plain.class).getClass());
+    }
+
+    public abstract static class BaseModule extends AbstractModule {
+        @Provides
+        @Named("base")
+        String base() {
+            return "base";
+        }
+
+        @Provides
+        Integer number() {
+            return 1;
+        }
+    }
+
+    public static class BarBaseModule extends BaseModule {
+        @Provides
+        @Named("base")
+        @Override
+        String base() {
+            return "bar";
+        }
+    }
+
+    public static class BazModule extends BarBaseModule {
+        @Provides
+        @Override
+        Integer number() {
+            return 2;
+        }
+    }
+
+    public static class QualifiedFooModule extends AbstractModule {
+        private final String name;
+
+        QualifiedFooModule(String name) {
+            this.name = name;
+        }
+
+        @Provides
+        @Named("a")
+        String a() {
+            return name;
+        }
+    }
+
     public static class Plain {
     }
 
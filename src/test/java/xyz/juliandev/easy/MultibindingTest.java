@@ -0,0 +1,222 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.IntoMap;
+import xyz.juliandev.easy.annotations.IntoSet;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.annotations.StringKey;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MultibindingTest {
+    @Test
+    public void setAssembledFromAllModules() {
+        EasyInjector easyInjector = Easy.createInjector(new PluginModule(), new OtherPluginModule());
+        Registry registry = easyInjector.getInstance(Registry.class);
+        assertEquals(Set.of("a", "b", "c"), registry.plugins);
+        assertSame(registry.plugins, easyInjector.getInstance(Key.ofSet(String.class)));
+        assertSame(registry.plugins, registry.pluginsProvider.get());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void setIsImmutable() {
+        Easy.createInjector(new PluginModule()).getInstance(Key.ofSet(String.class)).add("d");
+    }
+
+    @Test
+    public void unscopedContributorsAssembledPerCall() {
+        EasyInjector easyInjector = Easy.createInjector(new HandlerModule());
+        Map<String, Handler> handlers = easyInjector.getInstance(Key.ofMap(Handler.class));
+        assertEquals(Set.of("get", "put"), handlers.keySet());
+        Map<String, Handler> again = easyInjector.getInstance(Key.ofMap(Handler.class));
+        assertNotSame(handlers, again);
+        assertNotSame(handlers.get("get"), again.get("get"));
+        assertSame(handlers.get("put"), again.get("put"));
+    }
+
+    @Test
+    public void qualifiedCollectionsAreSeparate() {
+        EasyInjector easyInjector = Easy.createInjector(new PluginModule());
+        assertEquals(Set.of("x"), easyInjector.getInstance(Key.ofSet(String.class, "special")));
+        assertEquals(Set.of("a", "b"), easyInjector.getInstance(Key.ofSet(String.class)));
+    }
+
+    @Test
+    public void emptyWithoutContributions() {
+        EasyInjector easyInjector = Easy.createInjector();
+        assertTrue(easyInjector.getInstance(Key.ofSet(Handler.class)).isEmpty());
+        assertTrue(easyInjector.getInstance(Key.ofMap(Handler.class)).isEmpty());
+    }
+
+    @Test
+    public void dynamicModulesContribute() {
+        EasyInjector easyInjector = Easy.createInjector(new PluginModule());
+        OtherPluginModule other = new OtherPluginModule();
+        easyInjector.addDynamicModule(other);
+        assertEquals(Set.of("a", "b", "c"), easyInjector.getInstance(Registry.class).plugins);
+        easyInjector.removeModule(other);
+        assertEquals(Set.of("a", "b"), easyInjector.getInstance(Registry.class).plugins);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void duplicateMapKeysRejected() {
+        Easy.createInjector(new HandlerModule(), new DuplicateHandlerModule());
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void contributionAndBindingConflict() {
+        Easy.createInjector(new PluginModule(), new PlainSetModule());
+    }
+
+    @Test
+    public void singletonContributorsClosedAfterTheirConsumers() {
+        ClosingModule module = new ClosingModule();
+        EasyInjector easyInjector = Easy.createInjector(module);
+        easyInjector.getInstance(Consumer.class);
+        easyInjector.close();
+        assertEquals(3, module.closed.size());
+        assertEquals("consumer", module.closed.get(0));
+        assertEquals(Set.of("first", "second"), Set.copyOf(module.closed.subList(1, 3)));
+    }
+
+    public static class Registry {
+        final Set<String> plugins;
+        final Provider<Set<String>> pluginsProvider;
+
+        @Inject
+        public Registry(Set<String> plugins, Provider<Set<String>> pluginsProvider) {
+            this.plugins = plugins;
+            this.pluginsProvider = pluginsProvider;
+        }
+    }
+
+    public static class Handler {
+    }
+
+    public static class PluginModule extends AbstractModule {
+        @Provides
+        @Singleton
+        @IntoSet
+        String a() {
+            return "a";
+        }
+
+        @Provides
+        @Singleton
+        @IntoSet
+        String b() {
+            return "b";
+        }
+
+        @Provides
+        @Named("special")
+        @IntoSet
+        String special() {
+            return "x";
+        }
+    }
+
+    public static class OtherPluginModule extends AbstractModule {
+        @Provides
+        @Singleton
+        @IntoSet
+        String c() {
+            return "c";
+        }
+    }
+
+    public static class HandlerModule extends AbstractModule {
+        @Provides
+        @IntoMap
+        @StringKey("get")
+        Handler get() {
+            return new Handler();
+        }
+
+        @Provides
+        @Singleton
+        @IntoMap
+        @StringKey("put")
+        Handler put() {
+            return new Handler();
+        }
+    }
+
+    public static class DuplicateHandlerModule extends AbstractModule {
+        @Provides
+        @IntoMap
+        @StringKey("get")
+        Handler get() {
+            return new Handler();
+        }
+    }
+
+    public static class Resource implements AutoCloseable {
+        private final String name;
+        private final List<String> closed;
+
+        Resource(String name, List<String> closed) {
+            this.name = name;
+            this.closed = closed;
+        }
+
+        @Override
+        public void close() {
+            closed.add(name);
+        }
+    }
+
+    public static class Consumer extends Resource {
+        Consumer(Set<Resource> resources, List<String> closed) {
+            super("consumer", closed);
+        }
+    }
+
+    public static class ClosingModule extends AbstractModule {
+        final List<String> closed = Collections.synchronizedList(new ArrayList<>());
+
+        @Provides
+        @Singleton
+        @IntoSet
+        Resource first() {
+            return new Resource("first", closed);
+        }
+
+        @Provides
+        @Singleton
+        @IntoSet
+        Resource second() {
+            return new Resource("second", closed);
+        }
+
+        @Provides
+        @Singleton
+        Consumer consumer(Set<Resource> resources) {
+            return new Consumer(resources, closed);
+        }
+    }
+
+    public static class PlainSetModule extends AbstractModule {
+        @Provides
+        Set<String> strings() {
+            return Set.of();
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Pooled;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.Dependency;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Lease;
+import xyz.juliandev.easy.injector.ObjectPool;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PooledScopeTest {
+
+    @Test
+    public void releasedInstanceIsReused() {
+        EasyInjector easyInjector = Easy.createInjector();
+        ObjectPool<Parser> parsers = easyInjector.getInstance(Ingest.class).parsers;
+        Set<Parser> created = new HashSet<>();
+        try (Lease<Parser> first = parsers.acquire(); Lease<Parser> second = parsers.acquire()) {
+            assertNotSame(first.get(), second.get());
+            created.add(first.get());
+            created.add(second.get());
+        }
+        assertEquals(2, parsers.idle());
+        try (Lease<Parser> first = parsers.acquire(); Lease<Parser> second = parsers.acquire()) {
+            assertEquals(created, Set.of(first.get(), second.get()));
+            assertEquals(0, parsers.idle());
+        }
+        assertSame(parsers, easyInjector.getInstance(Ingest.class).parsers);
+    }
+
+    @Test
+    public void leaseClosedTwiceReleasesOnce() {
+        ObjectPool<Parser> parsers = Easy.createInjector().getInstance(Ingest.class).parsers;
+        Lease<Parser> lease = parsers.acquire();
+        lease.close();
+        lease.close();
+        assertEquals(1, parsers.idle());
+    }
+
+    @Test
+    public void fullPoolDiscardsInstances() {
+        EasyInjector easyInjector = Easy.createInjector(new BufferModule());
+        ObjectPool<Buffer> buffers = easyInjector.getInstance(BufferUser.class).buffers;
+        List<Lease<Buffer>> leases = new ArrayList<>();
+        for (int i = 0; i < 3; ++i) {
+            leases.add(buffers.acquire());
+        }
+        leases.forEach(Lease::close);
+        assertEquals(2, buffers.idle());
+        assertEquals(1, leases.stream().filter(lease -> lease.get().closed.get()).count());
+    }
+
+    @Test
+    public void idleInstancesAreEvicted() throws Exception {
+        EasyInjector easyInjector = Easy.createInjector(new BufferModule());
+        ObjectPool<Buffer> buffers = easyInjector.getInstance(BufferUser.class).buffers;
+        Lease<Buffer> lease = buffers.acquire();
+        lease.close();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (buffers.idle() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, buffers.idle());
+        assertTrue(lease.get().closed.get());
+    }
+
+    @Test
+    public void closeDiscardsIdleInstances() {
+        EasyInjector easyInjector = Easy.createInjector(new BufferModule());
+        ObjectPool<Buffer> buffers = easyInjector.getInstance(BufferUser.class).buffers;
+        Lease<Buffer> lease = buffers.acquire();
+        lease.close();
+        assertEquals(1, buffers.idle());
+        easyInjector.close();
+        assertEquals(0, buffers.idle());
+        assertTrue(lease.get().closed.get());
+        try {
+            buffers.acquire();
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+    }
+
+    @Test
+    public void releaseAfterCloseDiscardsInstance() {
+        EasyInjector easyInjector = Easy.createInjector(new BufferModule());
+        ObjectPool<Buffer> buffers = easyInjector.getInstance(BufferUser.class).buffers;
+        Lease<Buffer> lease = buffers.acquire();
+        easyInjector.close();
+        lease.close();
+        assertEquals(0, buffers.idle());
+        assertTrue(lease.get().closed.get());
+    }
+
+    @Test
+    public void poolDependencyNamedAfterObjectPool() {
+        assertEquals("ObjectPool<" + Buffer.class.getName() + ">", Dependency.poolOf(Key.of(Buffer.class)).toString());
+    }
+
+    @Test
+    public void instancesAreNeverShared() throws Exception {
+        ObjectPool<Parser> parsers = Easy.createInjector().getInstance(Ingest.class).parsers;
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; ++t) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; ++i) {
+                        try (Lease<Parser> lease = parsers.acquire()) {
+                            assertFalse(lease.get().inUse.getAndSet(true));
+                            lease.get().inUse.set(false);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void poolOfUnpooledKey() {
+        try {
+            Easy.createInjector().getInstance(Unpooled.class);
+            fail();
+        } catch (EasyInjectorRuntimeException expected) {
+        }
+    }
+
+    @Pooled(maxSize = 4)
+    public static class Parser {
+        private final AtomicBoolean inUse = new AtomicBoolean();
+    }
+
+    public static class Ingest {
+        private final ObjectPool<Parser> parsers;
+
+        @Inject
+        public Ingest(ObjectPool<Parser> parsers) {
+            this.parsers = parsers;
+        }
+    }
+
+    public static class Buffer implements AutoCloseable {
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        @Override
+        public void close() {
+            closed.set(true);
+        }
+    }
+
+    public static class BufferUser {
+        private final ObjectPool<Buffer> buffers;
+
+        @Inject
+        public BufferUser(ObjectPool<Buffer> buffers) {
+            this.buffers = buffers;
+        }
+    }
+
+    public static class BufferModule extends AbstractModule {
+        @Provides
+        @Pooled(maxSize = 2, maxIdle = 50, unit = TimeUnit.MILLISECONDS)
+        Buffer buffer() {
+            return new Buffer();
+        }
+    }
+
+    public static class Unpooled {
+        @Inject
+        public Unpooled(ObjectPool<Ingest> ingests) {
+            ingests.idle();
+        }
+    }
+}
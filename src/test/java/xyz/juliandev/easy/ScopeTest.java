@@ -0,0 +1,130 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.RequestScoped;
+import xyz.juliandev.easy.annotations.Scope;
+import xyz.juliandev.easy.annotations.ThreadScoped;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Key;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.injector.RequestScope;
+import xyz.juliandev.easy.injector.ScopeHandler;
+
+import java.lang.annotation.Retention;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class ScopeTest {
+    @Test
+    public void threadScoped() throws Exception {
+        EasyInjector easyInjector = Easy.createInjector();
+        PerThread instance = easyInjector.getInstance(PerThread.class);
+        assertSame(instance, easyInjector.getInstance(PerThread.class));
+        AtomicReference<PerThread> other = new AtomicReference<>();
+        Thread thread = new Thread(() -> other.set(easyInjector.getInstance(PerThread.class)));
+        thread.start();
+        thread.join();
+        assertNotEquals(instance, other.get());
+    }
+
+    @Test
+    public void requestScoped() {
+        EasyInjector easyInjector = Easy.createInjector();
+        AtomicReference<PerRequest> first = new AtomicReference<>();
+        RequestScope.run(() -> {
+            Handler handler = easyInjector.getInstance(Handler.class);
+            assertSame(handler.first, handler.second);
+            assertSame(handler.first, easyInjector.getInstance(PerRequest.class));
+            first.set(handler.first);
+        });
+        RequestScope.run(() -> assertNotEquals(first.get(), easyInjector.getInstance(PerRequest.class)));
+    }
+
+    @Test
+    public void requestSlotsOfCollectedInjectorsAreReused() throws InterruptedException {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+        for (int i = 0; i < 10_000; ++i) {
+            Easy.createInjector().getProvider(PerRequest.class);
+        }
+        // A request only grows its instance array up to the highest slot in use
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        long bytes;
+        do {
+            System.gc();
+            Thread.sleep(10);
+            Provider<PerRequest> provider = Easy.createInjector().getProvider(PerRequest.class);
+            long thread = Thread.currentThread().getId();
+            long before = threads.getThreadAllocatedBytes(thread);
+            RequestScope.run(provider::get);
+            bytes = threads.getThreadAllocatedBytes(thread) - before;
+        } while (bytes > 4096 && System.nanoTime() < deadline);
+        assertTrue(bytes + " bytes allocated by a request", bytes <= 4096);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void requestScopedOutsideRequest() {
+        Easy.createInjector().getInstance(PerRequest.class);
+    }
+
+    @Test
+    public void customScope() {
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().scope(Constant.class, new ScopeHandler() {
+            @Override
+            public <T> Provider<T> scope(Key<T> key, Provider<T> unscoped) {
+                T instance = unscoped.get();
+                return () -> instance;
+            }
+        }));
+        assertSame(easyInjector.getInstance(ConstantObj.class), easyInjector.getInstance(ConstantObj.class));
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void unboundScope() {
+        Easy.createInjector().getInstance(ConstantObj.class);
+    }
+
+    @Scope
+    @Retention(RUNTIME)
+    public @interface Constant {}
+
+    @ThreadScoped
+    public static class PerThread {
+
+    }
+
+    @RequestScoped
+    public static class PerRequest {
+
+    }
+
+    @Constant
+    public static class ConstantObj {
+
+    }
+
+    public static class Handler {
+        final PerRequest first;
+        final PerRequest second;
+
+        @Inject
+        public Handler(PerRequest first, Provider<PerRequest> second) {
+            this.first = first;
+            this.second = second.get();
+        }
+    }
+
+}
@@ -5,6 +5,8 @@ import xyz.juliandev.easy.annotations.Singleton;
 import xyz.juliandev.easy.injector.EasyInjector;
 import xyz.juliandev.easy.injector.Provider;
 
+import java.util.concurrent.CountDownLatch;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 
@@ -28,6 +30,17 @@ public class SingletonTest {
         assertEquals(provider.get(), provider.get());
     }
 
+    @Test(timeout = 10_000)
+    public void unrelatedSingletonsInitializeInParallel() throws Exception {
+        EasyInjector easyInjector = Easy.createInjector();
+        Thread waiting = new Thread(() -> easyInjector.getInstance(Waiting.class));
+        waiting.start();
+        Waiting.started.await();
+        easyInjector.getInstance(Releasing.class);
+        waiting.join();
+        assertEquals(easyInjector.getInstance(Waiting.class), easyInjector.getInstance(Waiting.class));
+    }
+
     public static class Plain {
 
     }
@@ -36,4 +49,22 @@ public class SingletonTest {
     public static class SingletonObj {
 
     }
+
+    @Singleton
+    public static class Waiting {
+        static final CountDownLatch started = new CountDownLatch(1);
+        static final CountDownLatch released = new CountDownLatch(1);
+
+        public Waiting() throws InterruptedException {
+            started.countDown();
+            released.await();
+        }
+    }
+
+    @Singleton
+    public static class Releasing {
+        public Releasing() {
+            Waiting.released.countDown();
+        }
+    }
 }
@@ -0,0 +1,161 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Named;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.injector.InjectorOptions;
+import xyz.juliandev.easy.injector.Provider;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ValidationTest {
+    @Test
+    public void validGraphPasses() {
+        EasyInjector easyInjector = Easy.createInjector(InjectorOptions.defaults().validateOnCreate(true), new ValidModule());
+        easyInjector.validate();
+        easyInjector.getInstance(SelfReferencing.class);
+    }
+
+    @Test
+    public void reportsAllProblemsAtOnce() {
+        EasyInjector easyInjector = Easy.createInjector(new BrokenModule());
+        try {
+            easyInjector.validate();
+            fail();
+        } catch (EasyInjectorRuntimeException e) {
+            String message = e.getMessage();
+            assertTrue(message, message.contains("3 problems"));
+            assertTrue(message, message.contains("Can't bind " + Unbound.class.getName()));
+            assertTrue(message, message.contains("Ambiguous qualifier: " + Service.class.getName() + " required by"));
+            assertTrue(message, message.contains("Circular dependency between [" + A.class.getName() + ", " + B.class.getName() + "]")
+                    || message.contains("Circular dependency between [" + B.class.getName() + ", " + A.class.getName() + "]"));
+        }
+    }
+
+    @Test
+    public void qualifiedBindingDoesntHideJustInTimeBinding() {
+        EasyInjector easyInjector = Easy.createInjector(new ClockModule());
+        easyInjector.getInstance(Runnable.class);
+        easyInjector.validate();
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void circularDependencyAfterValidate() {
+        EasyInjector easyInjector = Easy.createInjector(new BrokenModule());
+        try {
+            easyInjector.validate();
+        } catch (EasyInjectorRuntimeException e) {
+            // Reported, using the cycle still fails instead of overflowing the stack
+        }
+        easyInjector.getInstance(A.class);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void validateOnCreate() {
+        Easy.createInjector(InjectorOptions.defaults().validateOnCreate(true), new BrokenModule());
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void circularDependencyOnFirstUse() {
+        Easy.createInjector().getInstance(A.class);
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void circularModuleRejected() {
+        Easy.createInjector(new CircularModule());
+    }
+
+    public interface Unbound {
+    }
+
+    public interface Service {
+    }
+
+    public static class A {
+        @Inject
+        public A(B b) {
+        }
+    }
+
+    public static class B {
+        @Inject
+        public B(A a) {
+        }
+    }
+
+    public static class SelfReferencing {
+        @Inject
+        public SelfReferencing(Provider<SelfReferencing> self) {
+        }
+    }
+
+    public static class Clock {
+        @Inject
+        public Clock() {
+        }
+    }
+
+    public static class ClockModule extends AbstractModule {
+        @Provides
+        @Named("utc")
+        Clock utc() {
+            return new Clock();
+        }
+
+        @Provides
+        Runnable runnable(Clock clock) {
+            return () -> {
+            };
+        }
+    }
+
+    public static class ValidModule extends AbstractModule {
+        @Provides
+        @Named("one")
+        Service one(SelfReferencing selfReferencing) {
+            return new Service() {
+            };
+        }
+
+        @Provides
+        String service(@Named("one") Service service) {
+            return "service";
+        }
+    }
+
+    public static class BrokenModule extends AbstractModule {
+        @Provides
+        @Named("one")
+        Service one() {
+            return new Service() {
+            };
+        }
+
+        @Provides
+        String unbound(Unbound unbound, Service service) {
+            return "unbound";
+        }
+
+        @Provides
+        Integer circular(A a) {
+            return 1;
+        }
+    }
+
+    public static class CircularModule extends AbstractModule {
+        @Provides
+        String string(Integer integer) {
+            return "string";
+        }
+
+        @Provides
+        Integer integer(String string) {
+            return 1;
+        }
+    }
+}
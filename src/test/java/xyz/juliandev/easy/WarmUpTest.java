@@ -0,0 +1,74 @@
+package xyz.juliandev.easy;
+
+import org.junit.Test;
+import xyz.juliandev.easy.annotations.Inject;
+import xyz.juliandev.easy.annotations.Provides;
+import xyz.juliandev.easy.annotations.Singleton;
+import xyz.juliandev.easy.injector.EasyInjector;
+import xyz.juliandev.easy.injector.EasyInjectorRuntimeException;
+import xyz.juliandev.easy.module.AbstractModule;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class WarmUpTest {
+    @Test
+    public void singletonsCreatedUpFront() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Counted.created.set(0);
+            EasyInjector easyInjector = Easy.createInjector(new Module());
+            easyInjector.warmUp(executor);
+            assertEquals(1, Counted.created.get());
+            easyInjector.getInstance(Root.class);
+            assertEquals(1, Counted.created.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test(expected = EasyInjectorRuntimeException.class)
+    public void failureReported() {
+        Easy.createInjector(new FailingModule()).warmUp();
+    }
+
+    @Singleton
+    public static class Counted {
+        static final AtomicInteger created = new AtomicInteger();
+
+        public Counted() {
+            created.incrementAndGet();
+        }
+    }
+
+    public static class Middle {
+        @Inject
+        public Middle(Counted counted) {
+        }
+    }
+
+    public static class Root {
+        @Inject
+        public Root(Middle middle, Counted counted) {
+        }
+    }
+
+    public static class Module extends AbstractModule {
+        @Provides
+        @Singleton
+        Root root(Middle middle, Counted counted) {
+            return new Root(middle, counted);
+        }
+    }
+
+    public static class FailingModule extends AbstractModule {
+        @Provides
+        @Singleton
+        String failing() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}